@@ -4,12 +4,15 @@ import spark.servlet.SparkApplication;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import dungeonmania.Action;
 import dungeonmania.DungeonManiaController;
 import dungeonmania.exceptions.InvalidActionException;
 import dungeonmania.response.models.GenericResponseWrapper;
+import dungeonmania.response.models.LazyResponseAdapterFactory;
 import dungeonmania.util.Direction;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -62,9 +65,7 @@ public class App implements SparkApplication {
     private static<T> GenericResponseWrapper<T> callUsingSessionAndArgument(Request request, Function<DungeonManiaController, T> runnable) {
         try {
             DungeonManiaController dmc = getDungeonManiaController(request);
-            synchronized (dmc) {
-                return GenericResponseWrapper.Ok(runnable.apply(dmc));
-            }
+            return GenericResponseWrapper.Ok(dmc.respond(runnable));
         } catch (Exception e) {
             e.printStackTrace();
             return GenericResponseWrapper.Err(e);
@@ -75,6 +76,7 @@ public class App implements SparkApplication {
     public void init() {
         Scintilla.initialize(); 
         GsonBuilder gsonBuilder = new GsonBuilder();
+        gsonBuilder.registerTypeAdapterFactory(new LazyResponseAdapterFactory());
 
         Gson gson = gsonBuilder.create();
         Object globalLock = new Object();
@@ -117,6 +119,24 @@ public class App implements SparkApplication {
             return callUsingSessionAndArgument(request, (dmc) -> dmc.tick(Direction.valueOf(request.queryParams("movementDirection").toUpperCase())));
         }, gson::toJson);
 
+        Spark.post("/api/game/batch/", "application/json", (request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> {
+                String every = request.queryParams("responseEvery");
+                try {
+                    List<Action> actions = Action.parseAll(request.queryParams("actions"));
+                    int responseEvery;
+                    try {
+                        responseEvery = every == null ? 0 : Integer.parseInt(every);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("responseEvery must be a whole number");
+                    }
+                    return dmc.batch(actions, responseEvery);
+                } catch (InvalidActionException e) {
+                    throw new InvalidActionExceptionAPI(e.getMessage());
+                }
+            });
+        }, gson::toJson);
+
         Spark.post("/api/game/build/", "application/json", (request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> {
                 try {
@@ -145,6 +165,20 @@ public class App implements SparkApplication {
             });
         }, gson::toJson);
 
+        Spark.post("/api/game/battles/", "application/json", (request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> dmc.listBattles(
+                Integer.parseInt(request.queryParams("since"))));
+        }, gson::toJson);
+
+        Spark.post("/api/game/sync/", "application/json", (request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> dmc.sync());
+        }, gson::toJson);
+
+        Spark.post("/api/game/delta/", "application/json", (request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> dmc.getDelta(request.queryParams("epoch"),
+                Long.parseLong(request.queryParams("since"))));
+        }, gson::toJson);
+
         Spark.post("/api/game/dungeonResponseModel/", "application/json", (request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> dmc.getDungeonResponseModel());
         }, gson::toJson);
@@ -0,0 +1,134 @@
+package dungeonmania;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import dungeonmania.util.Direction;
+
+/**
+ * One step of a batch, i.e. a movement tick, an item tick, a build or an interaction.
+ * Written as "move:up", "item:<itemId>", "build:<buildable>" or "interact:<entityId>".
+ */
+public final class Action {
+    /**
+     * The kind of step, matching the controller method it stands for
+     */
+    public enum Kind {
+        MOVE, ITEM, BUILD, INTERACT
+    }
+
+    private final Kind kind;
+    private final Direction direction;
+    private final String target;
+
+    private Action(Kind kind, Direction direction, String target) {
+        this.kind = kind;
+        this.direction = direction;
+        this.target = target;
+    }
+
+    /**
+     * Makes a movement tick
+     * @param direction
+     * @return the action
+     */
+    public static Action move(Direction direction) {
+        return new Action(Kind.MOVE, direction, null);
+    }
+
+    /**
+     * Makes an item tick
+     * @param itemUsedId
+     * @return the action
+     */
+    public static Action use(String itemUsedId) {
+        return new Action(Kind.ITEM, null, itemUsedId);
+    }
+
+    /**
+     * Makes a build
+     * @param buildable
+     * @return the action
+     */
+    public static Action build(String buildable) {
+        return new Action(Kind.BUILD, null, buildable);
+    }
+
+    /**
+     * Makes an interaction
+     * @param entityId
+     * @return the action
+     */
+    public static Action interact(String entityId) {
+        return new Action(Kind.INTERACT, null, entityId);
+    }
+
+    /**
+     * Reads an action, e.g. "move:up"
+     * @param action
+     * @return the action
+     * @throws IllegalArgumentException if the action is not one of the written forms
+     */
+    public static Action parse(String action) throws IllegalArgumentException {
+        int colon = action.indexOf(':');
+        if (colon < 0 || colon == action.length() - 1) {
+            throw new IllegalArgumentException("Actions are written as kind:argument, not " + action);
+        }
+        String argument = action.substring(colon + 1).trim();
+        switch (action.substring(0, colon).trim().toLowerCase()) {
+            case "move":
+                return move(Direction.valueOf(argument.toUpperCase()));
+            case "item":
+                return use(argument);
+            case "build":
+                return build(argument);
+            case "interact":
+                return interact(argument);
+            default:
+                throw new IllegalArgumentException("Action must be one of move, item, build, interact");
+        }
+    }
+
+    /**
+     * Reads a comma separated list of actions, e.g. "move:up,move:left,build:bow"
+     * @param actions
+     * @return the actions, in order
+     * @throws IllegalArgumentException if actions is missing, or any action is not one of the written forms
+     */
+    public static List<Action> parseAll(String actions) throws IllegalArgumentException {
+        if (actions == null) {
+            throw new IllegalArgumentException("A batch needs a list of actions");
+        }
+        List<Action> result = new ArrayList<>();
+        for (String action : actions.split(",")) {
+            if (!action.isBlank()) {
+                result.add(parse(action));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets kind
+     * @return the kind of step
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets direction
+     * @return the movement direction, or null if this is not a movement tick
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Gets target
+     * @return the item id, buildable or entity id, or null for a movement tick
+     */
+    public String getTarget() {
+        return target;
+    }
+}
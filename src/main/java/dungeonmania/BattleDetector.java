@@ -0,0 +1,96 @@
+package dungeonmania;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import dungeonmania.dynamic_entity.DynamicEntity;
+import dungeonmania.dynamic_entity.Player;
+import dungeonmania.util.Position;
+
+/**
+ * Finds the enemies the player has to fight, looking only at the player's tile.
+ *      - Enemies on the player's tile fight, unless the player is invisible.
+ *      - With pass-through combat, the player and enemies move at the same time: battles are only checked once
+ *          enemies have moved, and an enemy that swapped tiles with the player fights as well.
+ *          The player and enemies report their moves through playerMoved and moved.
+ */
+public class BattleDetector implements Serializable {
+    private final boolean passThrough;
+    // the tile the player left this tick, or null if the player has not moved since the last check
+    private transient Position playerFrom;
+    // enemies that swapped tiles with the player since the last check, in the order they moved
+    private transient List<DynamicEntity> passedThrough;
+
+    /**
+     * BattleDetector Constructor
+     * @param passThrough - true if battles wait for enemies to move, and enemies swapping tiles with the player
+     *      fight it
+     */
+    public BattleDetector(boolean passThrough) {
+        this.passThrough = passThrough;
+    }
+
+    /**
+     * Checks for pass-through combat
+     * @return true if battles wait for enemies to move, and enemies swapping tiles with the player fight it
+     */
+    public boolean isPassThrough() {
+        return passThrough;
+    }
+
+    /**
+     * Notes the player's move
+     * @param from - the tile the player left
+     */
+    public void playerMoved(Position from) {
+        playerFrom = from;
+    }
+
+    /**
+     * Notes an enemy's move
+     * @param enemy
+     * @param from - the tile it left
+     * @param player - the player, or null if there is none
+     */
+    public void moved(DynamicEntity enemy, Position from, Player player) {
+        if (passThrough && player != null && playerFrom != null && !playerFrom.equals(player.getPosition())
+                && from.equals(player.getPosition()) && enemy.getPosition().equals(playerFrom)) {
+            if (passedThrough == null) {
+                passedThrough = new ArrayList<>();
+            }
+            passedThrough.add(enemy);
+        }
+    }
+
+    /**
+     * Finds the enemies to fight, and forgets the moves noted so far
+     * @param registry
+     * @return the occupants of the player's tile other than the player, in the order they were added, then
+     *      the enemies that swapped tiles with the player still alive
+     */
+    public List<DynamicEntity> detect(EntityRegistry registry) {
+        List<DynamicEntity> passed = passedThrough;
+        passedThrough = null;
+        playerFrom = null;
+        Player player = registry.getPlayer();
+        if (player == null || player.getStatus().equals("INVISIBLE")) {
+            return List.of();
+        }
+
+        List<DynamicEntity> opponents = new ArrayList<>();
+        for (Entity entity : registry.getEntitiesAt(player.getPosition())) {
+            if (entity instanceof DynamicEntity && !(entity instanceof Player)) {
+                opponents.add((DynamicEntity) entity);
+            }
+        }
+        if (passed != null) {
+            for (DynamicEntity enemy : passed) {
+                if (enemy.getHealth() > 0 && !opponents.contains(enemy)) {
+                    opponents.add(enemy);
+                }
+            }
+        }
+        return opponents;
+    }
+}
@@ -52,6 +52,15 @@ public class Boulder extends Entity {
         }
         return false;
     }
+
+    /**
+     * Gets tile flags
+     * @return TileMap.BOULDER
+     */
+    @Override
+    public int getTileFlags() {
+        return TileMap.BOULDER;
+    }
     
     /**
      * Gets the type of entity
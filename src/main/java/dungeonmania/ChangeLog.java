@@ -0,0 +1,229 @@
+package dungeonmania;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import dungeonmania.dynamic_entity.DynamicEntity;
+import dungeonmania.response.models.EntityResponse;
+import dungeonmania.static_entity.Door.Door;
+
+/**
+ * Record of which entities were added, removed or changed in each world version, for delta responses.
+ *      - Additions and removals are reported by the EntityRegistry as they happen.
+ *      - Only moving entities and doors change in place, so those are compared against what was last
+ *          shown whenever a client syncs, and the differences are logged.
+ *      - Each version a client synced at is marked with the battle count, inventory version and goals it saw.
+ *          Only the newest MAX_MARKS marks are kept, as a dungeon that rarely changes seldom drops old changes.
+ *      - The log is bounded, a client too far behind, or holding another log's epoch, is sent a full snapshot.
+ * Not saved, a loaded game starts a new log.
+ */
+public class ChangeLog {
+    public static final int MAX_CHANGES = 1 << 16;
+    public static final int MAX_MARKS = 1 << 10;
+
+    private enum Kind {
+        ADDED, REMOVED, CHANGED
+    }
+
+    private static final class Change {
+        private final long version;
+        private final Entity entity;
+        private final Kind kind;
+
+        private Change(long version, Entity entity, Kind kind) {
+            this.version = version;
+            this.entity = entity;
+            this.kind = kind;
+        }
+    }
+
+    /**
+     * What a client was shown at a version, besides the entities
+     */
+    public static final class Mark {
+        private final int battles;
+        private final int inventoryVersion;
+        private final String goals;
+
+        private Mark(int battles, int inventoryVersion, String goals) {
+            this.battles = battles;
+            this.inventoryVersion = inventoryVersion;
+            this.goals = goals;
+        }
+
+        /**
+         * Gets battles
+         * @return the number of battles recorded
+         */
+        public int getBattles() {
+            return battles;
+        }
+
+        /**
+         * Gets inventory version
+         * @return the player's inventory version
+         */
+        public int getInventoryVersion() {
+            return inventoryVersion;
+        }
+
+        /**
+         * Gets goals
+         * @return the goal string
+         */
+        public String getGoals() {
+            return goals;
+        }
+    }
+
+    private final EntityRegistry registry;
+    private final String epoch = UUID.randomUUID().toString();
+    private final Deque<Change> changes = new ArrayDeque<>();
+    private final Map<Entity, EntityResponse> shown = new IdentityHashMap<>();
+    private final TreeMap<Long, Mark> marks = new TreeMap<>();
+    private long version;
+    private long floor;
+
+    /**
+     * ChangeLog Constructor
+     * @param registry - the registry to follow, which reports its additions and removals to the log
+     * @param version - the current world version. Deltas can only be served from here on
+     */
+    public ChangeLog(EntityRegistry registry, long version) {
+        this.registry = registry;
+        this.version = version;
+        this.floor = version;
+        registry.setChangeLog(this);
+    }
+
+    /**
+     * Gets registry
+     * @return the registry this log follows
+     */
+    public EntityRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Gets epoch
+     * @return the identity of this log, versions from another log mean nothing here
+     */
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Moves to a new world version, later changes are logged against it
+     * @param version
+     */
+    public void advance(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Logs the moving entities and doors that changed since they were last shown
+     */
+    public void flush() {
+        for (DynamicEntity entity : registry.getAll(DynamicEntity.class)) {
+            compare(entity);
+        }
+        for (Boulder entity : registry.getAll(Boulder.class)) {
+            compare(entity);
+        }
+        for (Door entity : registry.getAll(Door.class)) {
+            compare(entity);
+        }
+    }
+
+    /**
+     * Marks what a client was shown at the current version, call after flush
+     * @param battles
+     * @param inventoryVersion
+     * @param goals
+     */
+    public void mark(int battles, int inventoryVersion, String goals) {
+        marks.put(version, new Mark(battles, inventoryVersion, goals));
+        if (marks.size() > MAX_MARKS) {
+            marks.pollFirstEntry();
+        }
+    }
+
+    /**
+     * Gets a mark
+     * @param since
+     * @return what a client was shown at version since, or null if no delta can be served from since
+     */
+    public Mark getMark(long since) {
+        return since < floor ? null : marks.get(since);
+    }
+
+    /**
+     * Collects the entity changes after a version, call after flush
+     * @param since - a version with a mark
+     * @param added - filled with the entities added since, that are still in the dungeon
+     * @param changed - filled with the entities that were already shown and have since moved or changed
+     * @param removed - filled with the ids of entities that were shown and have since left the dungeon
+     */
+    public void collect(long since, List<EntityResponse> added, List<EntityResponse> changed, List<String> removed) {
+        // newest first, so each entity ends up with its oldest change after since
+        Map<Entity, Kind> oldest = new IdentityHashMap<>();
+        for (Iterator<Change> it = changes.descendingIterator(); it.hasNext();) {
+            Change change = it.next();
+            if (change.version <= since) {
+                break;
+            }
+            oldest.put(change.entity, change.kind);
+        }
+        for (Map.Entry<Entity, Kind> entry : oldest.entrySet()) {
+            Entity entity = entry.getKey();
+            boolean shownBefore = entry.getValue() != Kind.ADDED;
+            boolean present = entity.getSpatialIndex() != null;
+            if (present && !shownBefore) {
+                added.add(entity.getEntityResponse());
+            } else if (present) {
+                changed.add(entity.getEntityResponse());
+            } else if (shownBefore) {
+                removed.add(entity.getId());
+            }
+        }
+    }
+
+    /**
+     * Logs an entity added to the dungeon
+     * @param entity
+     */
+    void added(Entity entity) {
+        log(entity, Kind.ADDED);
+    }
+
+    /**
+     * Logs an entity removed from the dungeon
+     * @param entity
+     */
+    void removed(Entity entity) {
+        shown.remove(entity);
+        log(entity, Kind.REMOVED);
+    }
+
+    private void compare(Entity entity) {
+        EntityResponse response = entity.getEntityResponse();
+        EntityResponse previous = shown.put(entity, response);
+        if (previous != null && !previous.equals(response)) {
+            log(entity, Kind.CHANGED);
+        }
+    }
+
+    private void log(Entity entity, Kind kind) {
+        changes.addLast(new Change(version, entity, kind));
+        if (changes.size() > MAX_CHANGES) {
+            floor = Math.max(floor, changes.pollFirst().version);
+            marks.headMap(floor).clear();
+        }
+    }
+}
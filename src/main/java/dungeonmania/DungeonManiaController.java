@@ -19,16 +19,17 @@ import dungeonmania.dynamic_entity.Mercenary;
 import dungeonmania.dynamic_entity.Player;
 import dungeonmania.dynamic_entity.Spider;
 import dungeonmania.dynamic_entity.ZombieToast;
-import dungeonmania.dynamic_entity.player.BattleRecord;
-import dungeonmania.dynamic_entity.player.ItemRecord;
-import dungeonmania.dynamic_entity.player.RoundRecord;
+import dungeonmania.dynamic_entity.movement.DistanceField;
 import dungeonmania.exceptions.InvalidActionException;
 import dungeonmania.goal.*;
+import dungeonmania.recipe.RecipeBook;
 import dungeonmania.response.models.EntityResponse;
-import dungeonmania.response.models.ItemResponse;
-import dungeonmania.response.models.RoundResponse;
 import dungeonmania.response.models.BattleResponse;
+import dungeonmania.response.models.BatchResponse;
+import dungeonmania.response.models.BattleListResponse;
+import dungeonmania.response.models.DeltaResponse;
 import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.response.models.LazyResponse;
 import dungeonmania.util.Direction;
 import dungeonmania.util.FileLoader;
 import dungeonmania.util.Position;
@@ -41,6 +42,11 @@ import dungeonmania.static_entity.StaticEntity;
 import dungeonmania.static_entity.SwampTile;
 import dungeonmania.static_entity.Wall;
 import dungeonmania.static_entity.ZombieToastSpawner;
+import dungeonmania.tick.Component;
+import dungeonmania.tick.TickContext;
+import dungeonmania.tick.TickListener;
+import dungeonmania.tick.TickPipeline;
+import dungeonmania.tick.TickSystem;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -49,12 +55,21 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.Random;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -63,13 +78,25 @@ public class DungeonManiaController implements Serializable {
     private int id;
     private SerializableJSONObject jsonConfig;
     private List<Portal> unpairedPortals;
-    private List<Entity> entities;
+    private EntityRegistry registry;
     private Player player;
     private String dungeonId = "0";
     private Goal goalStrategy;
     private String dungeonName;
     private Observer observer;
     private Spiderspawner spiderspawner;
+    private Random random;
+    private transient Map<Integer, DistanceField> distanceFields;
+    private transient List<Entity> entered;
+    // the enemies moving this tick and where they plan to move, reused between ticks
+    private transient DynamicEntity[] movers;
+    private transient Position[] plans;
+    private transient TickPipeline movePipeline;
+    private transient TickPipeline itemPipeline;
+    private transient List<TickListener> tickListeners;
+    private transient long version;
+    private transient DungeonResponse response;
+    private transient ChangeLog changeLog;
 
 
     /**
@@ -115,10 +142,24 @@ public class DungeonManiaController implements Serializable {
      * @throws IllegalArgumentException
      */
     public DungeonResponse newGame(String dungeonName, String configName) throws IllegalArgumentException {
-        
+        return newGame(dungeonName, configName, new Random().nextLong());
+    }
+
+    /**
+     * Create a new game whose random events (enemy movement, spider spawns) are reproducible
+     * @param dungeonName
+     * @param configName
+     * @param seed - seed of the game's random number generator
+     * @return dungeon response model for the new game created
+     * @throws IllegalArgumentException
+     */
+    public DungeonResponse newGame(String dungeonName, String configName, long seed) throws IllegalArgumentException {
+        changed();
+        forgetDungeon();
         this.dungeonName = dungeonName;
+        random = new Random(seed);
         unpairedPortals = new ArrayList<>();
-        entities = new ArrayList<>();
+        registry = new EntityRegistry();
         player = null;
         dungeonId = String.valueOf(Integer.parseInt(dungeonId) + 1);
 
@@ -144,15 +185,10 @@ public class DungeonManiaController implements Serializable {
             JSONObject jsonEntity = jsonEntities.getJSONObject(i);
             addEntity(String.valueOf(i), new SerializableJSONObject(jsonEntity), this.jsonConfig);
         }
-        id = entities.size();
+        id = registry.getEntities().size();
 
         // Create observer
-        for (Entity entity : entities) {
-            if (entity.getType().equals("player")) {
-                player = (Player)entity;
-            }
-        }
-        this.observer = new Observer();
+        this.observer = new Observer(this.jsonConfig);
         return getDungeonResponseModel();
     }
 
@@ -263,16 +299,118 @@ public class DungeonManiaController implements Serializable {
         default:
             return;
         }
-        entities.add(newEntity);
+        addToDungeon(newEntity);
+    }
+
+    /**
+     * Adds an entity to the dungeon
+     * @param entity
+     */
+    private void addToDungeon(Entity entity) {
+        registry.add(entity);
+    }
+
+    /**
+     * Removes an entity from the dungeon
+     * @param entity
+     */
+    public void removeFromDungeon(Entity entity) {
+        registry.remove(entity);
+    }
+
+    /**
+     * Gets all entities in the dungeon
+     * @return read-only view of the entities
+     */
+    public List<Entity> getEntities() {
+        return registry.getEntities();
+    }
+
+    /**
+     * Gets the entity registry
+     * @return the registry of all entities in the dungeon
+     */
+    public EntityRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Gets the observer
+     * @return the observer recording the battles in the dungeon
+     */
+    public Observer getObserver() {
+        return observer;
+    }
+
+    /**
+     * Gets the game's random number generator
+     * @return the generator, seeded when the game was created
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Gets an entity's random number generator, so its random moves do not depend on when other entities move
+     * @param entity
+     * @return the entity's own generator, seeded from the game's generator the first time it is needed
+     */
+    public Random getRandom(DynamicEntity entity) {
+        if (entity.getRandom() == null) {
+            entity.setRandom(new Random(random.nextLong()));
+        }
+        return entity.getRandom();
+    }
+
+    /**
+     * Gets all entities on a tile
+     * @param position
+     * @return the entities at position, in the same order as the entity list
+     */
+    public List<Entity> getEntitiesAt(Position position) {
+        return registry.getEntitiesAt(position);
+    }
+
+    /**
+     * Gets player
+     * @return the player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the tile map
+     * @return the dense terrain map of the dungeon
+     */
+    public TileMap getTileMap() {
+        return registry.getTileMap();
+    }
+
+    /**
+     * Gets the shared distance field towards the player, rebuilt only when the player has moved or the terrain
+     * has changed since the last call. Not thread safe: enemies planning in parallel only read fields that
+     * were brought up to date before planning started
+     * @param blocking - the TileMap flags the chasing entities cannot move onto
+     * @return the distance field
+     */
+    public DistanceField getPlayerDistanceField(int blocking) {
+        if (distanceFields == null) {
+            distanceFields = new HashMap<>();
+        }
+        DistanceField field = distanceFields.get(blocking);
+        if (field == null || !field.isFor(getTileMap())) {
+            field = new DistanceField(getTileMap(), blocking);
+            distanceFields.put(blocking, field);
+        }
+        field.update(player.getPosition());
+        return field;
     }
     
     private Door findDoor(int i) {
-        for (Entity entity: entities) {
-            if (entity instanceof Door) {
-                Door target = (Door) entity;
-                if (target.getKeyId() == i) {
-                    return target;
-                }
+        for (Door target : registry.getAll(Door.class)) {
+            if (target.getKeyId() == i) {
+                return target;
             }
         }
         return null;
@@ -285,7 +423,7 @@ public class DungeonManiaController implements Serializable {
      */
     public void spawnSpider(int attack, int health) {
         Entity newEntity = new Spider(UUID.randomUUID().toString(), getRandomPosition(), attack, health);
-        entities.add(newEntity);
+        addToDungeon(newEntity);
     }
 
     /**
@@ -293,13 +431,10 @@ public class DungeonManiaController implements Serializable {
      * @return random positions
      */
     public Position getRandomPosition() {
-        Entity player = entities.stream().filter(x -> x instanceof Player).findFirst().get();
-        Player target = (Player) player;
-        Position pos = target.getPosition();
+        Position pos = registry.getPlayer().getPosition();
 
-        Random rand = new Random();
-        Position randomPos = (new Position(pos.getX() + rand.nextInt(6) + 1 , pos.getY()));
-        if (entities.stream().anyMatch(x -> (x instanceof Boulder) && (x.getPosition().equals(randomPos)))) {
+        Position randomPos = (new Position(pos.getX() + random.nextInt(6) + 1 , pos.getY()));
+        if (getTileMap().hasFlag(randomPos, TileMap.BOULDER)) {
             return getRandomPosition();
         }
         return randomPos;
@@ -314,7 +449,7 @@ public class DungeonManiaController implements Serializable {
      */
     public void spawnToast(int attack, int health, Position position) {
         Entity newEntity = new ZombieToast(UUID.randomUUID().toString(), position, attack, health);
-        entities.add(newEntity);
+        addToDungeon(newEntity);
     }
     
     /**
@@ -346,12 +481,9 @@ public class DungeonManiaController implements Serializable {
      * @return corresponding key
      */
     public Key findKey(int i) {
-        for (Entity entity: entities) {
-            if (entity instanceof Key) {
-                Key target = (Key) entity;
-                if (target.getKeyId() == i) {
-                    return target;
-                }
+        for (Key target : registry.getAll(Key.class)) {
+            if (target.getKeyId() == i) {
+                return target;
             }
         }
         return null;
@@ -362,12 +494,119 @@ public class DungeonManiaController implements Serializable {
      * @return dungeon response model
      */
     public DungeonResponse getDungeonResponseModel() {
-        List<EntityResponse> entityResponseList = entities.stream()
-                .map(Entity::getEntityResponse)
-                .collect(Collectors.toList());
-        return new DungeonResponse(
-            dungeonId, dungeonName, entityResponseList, player.getInventory().getItemResponses(),
-            listBattleResponses(), player.getBuildables(), goalStrategy.getGoal(entities));
+        // sections are only computed when read, and the response is shared until the dungeon changes
+        if (response == null) {
+            response = DungeonResponse.lazy(dungeonId, dungeonName,
+                () -> registry.getEntities().stream().map(Entity::getEntityResponse).collect(Collectors.toList()),
+                () -> player.getInventory().getItemResponses(),
+                this::listBattleResponses,
+                () -> player.getBuildables(),
+                () -> goalStrategy.getGoal(registry),
+                version, this::getVersion);
+        }
+        return response;
+    }
+
+    /**
+     * Gets version
+     * @return the world version, which goes up every time an action may change the dungeon
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Moves to a new world version. Sections of the last response handed out that were not read yet become stale.
+     * Called once an action is accepted, before it changes anything, so a rejected action keeps the version
+     */
+    private void changed() {
+        response = null;
+        version++;
+        if (changeLog != null) {
+            changeLog.advance(version);
+        }
+    }
+
+    /**
+     * Forgets everything cached about the current dungeon, before a new or loaded game replaces it
+     */
+    private void forgetDungeon() {
+        distanceFields = null;
+        entered = null;
+        movers = null;
+        plans = null;
+        movePipeline = null;
+        itemPipeline = null;
+        changeLog = null;
+    }
+
+    /**
+     * Gets the change log of the current dungeon, starting one on first use
+     * @return the change log
+     */
+    private ChangeLog getChangeLog() {
+        if (changeLog == null || changeLog.getRegistry() != registry) {
+            changeLog = new ChangeLog(registry, version);
+        }
+        return changeLog;
+    }
+
+    /**
+     * Runs a request while holding this controller's lock, and computes any lazy response it returns before
+     * letting go, so the response never reads the dungeon while another request changes it
+     * @param action
+     * @return what action returned, materialised if it is a LazyResponse
+     */
+    public synchronized <T> T respond(Function<DungeonManiaController, T> action) {
+        T result = action.apply(this);
+        if (result instanceof LazyResponse) {
+            ((LazyResponse) result).materialise();
+        }
+        return result;
+    }
+
+    /**
+     * Gets a full snapshot to follow the dungeon from by deltas
+     * /game/sync
+     * @return the epoch and version of the snapshot, and the snapshot itself
+     */
+    public DeltaResponse sync() {
+        ChangeLog log = getChangeLog();
+        DungeonResponse full = getDungeonResponseModel();
+        log.flush();
+        log.mark(observer.getBattleCount(), player.getInventory().getVersion(), full.getGoals());
+        return DeltaResponse.full(log.getEpoch(), version, full);
+    }
+
+    /**
+     * Gets what changed since a version the client was sent
+     * /game/delta
+     * @param epoch - the epoch the client was sent with that version
+     * @param since - the version the client last applied
+     * @return the entities added, changed and removed since, the inventory if it changed, the new battles,
+     *      the buildables and the goals if they changed. A full snapshot if the client must sync again
+     */
+    public DeltaResponse getDelta(String epoch, long since) {
+        ChangeLog log = getChangeLog();
+        ChangeLog.Mark mark = log.getEpoch().equals(epoch) ? log.getMark(since) : null;
+        if (mark == null) {
+            return sync();
+        }
+        log.flush();
+        List<EntityResponse> added = new ArrayList<>();
+        List<EntityResponse> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        log.collect(since, added, changed, removed);
+
+        List<BattleResponse> battles = listBattleResponses(mark.getBattles());
+        int inventoryVersion = player.getInventory().getVersion();
+        String goals = goalStrategy.getGoal(registry);
+        log.mark(observer.getBattleCount(), inventoryVersion, goals);
+        return new DeltaResponse(log.getEpoch(), version, added, changed, removed,
+            inventoryVersion == mark.getInventoryVersion() ? null : player.getInventory().getItemResponses(),
+            battles,
+            player.getBuildables(),
+            goals.equals(mark.getGoals()) ? null : goals);
     }
     
     /**
@@ -386,6 +625,11 @@ public class DungeonManiaController implements Serializable {
      * @throws InvalidActionException
      */
     public DungeonResponse tick(String itemUsedId) throws IllegalArgumentException, InvalidActionException {
+        useItem(itemUsedId);
+        return getDungeonResponseModel();
+    }
+
+    private void useItem(String itemUsedId) throws IllegalArgumentException, InvalidActionException {
         Position pos = player.getPosition();
         Collectible item = player.getItemById(itemUsedId);
         if (item == null) {
@@ -394,8 +638,14 @@ public class DungeonManiaController implements Serializable {
         if (!validConsumable().contains(item.getType())) {
             throw new IllegalArgumentException("itemUsed must be one of bomb, invincibility_potion, invisibility_potion");
         }
+        changed();
         if (item.getType().equals("bomb")) {
-            entities.add(new ActiveBomb(itemUsedId, pos));
+            ActiveBomb bomb = new ActiveBomb(itemUsedId, pos);
+            addToDungeon(bomb);
+            // placing a bomb next to an active switch sets it off at the end of the tick
+            if (bomb.isTriggered(registry)) {
+                registry.getScheduler().wake(bomb);
+            }
             player.removeItem(item);
         }
         if (item.getType().equals("invincibility_potion")) {
@@ -406,62 +656,98 @@ public class DungeonManiaController implements Serializable {
             player.consumePotion(item);
             player.removeItem(item);
         }
-        player.tickPotionEffects();
+        runTick(getItemPipeline(), new TickContext(null));
+    }
 
-        if (player.hasBuildableItem("sceptre")) {
-            Sceptre sceptre = (Sceptre) player.getInventory().getBuildableItem("sceptre");
-            if (sceptre.getisActive() == true) {
-                setStatus(player.tickSceptre());
+    /**
+     * Moves every enemy in two phases:
+     *      - Plan: each enemy works out its next position from the dungeon as it was before any enemy moved.
+     *          With parallel_enemy_movement set to 1 in the config, enemies plan at the same time.
+     *      - Commit: enemies move to their plans in the order of the entity list, and the tiles they step onto
+     *          react, e.g. swamp tiles trap them.
+     * Enemies share tiles, so plans never conflict, and each enemy draws from its own random number generator,
+     * so the dungeon ends up the same whether enemies plan in parallel or not.
+     * With sequential_enemy_movement set to 1 in the config, each enemy plans and moves before the next one
+     * plans instead, which also ends up the same.
+     * @param movementDirection
+     */
+    private void moveEnemies(Direction movementDirection) {
+        List<DynamicEntity> entities = registry.getAll(DynamicEntity.class);
+        if (movers == null || movers.length < entities.size()) {
+            movers = new DynamicEntity[entities.size()];
+            plans = new Position[entities.size()];
+        }
+        int count = 0;
+        for (DynamicEntity entity : entities) {
+            if (!(entity instanceof Player)) {
+                // seeded here, in order, as planning must not touch the game's generator
+                getRandom(entity);
+                movers[count++] = entity;
             }
         }
 
-        // move Dynamic entities except Player
-        entities.stream().filter(it -> (it instanceof DynamicEntity) && (it instanceof Player == false)).forEach(
-            x -> {
-                DynamicEntity y = (DynamicEntity) x;
-                y.updatePos(null, entities);
+        if (jsonConfig.getInt("sequential_enemy_movement", 0) == 1) {
+            for (int i = 0; i < count; i++) {
+                moveEnemy(movers[i], movers[i].planPos(movementDirection, this));
             }
-        );
-
-        // check for swamp tiles
-        entities.stream().filter(it -> (it instanceof SwampTile)).forEach(
-            x -> {
-                SwampTile y = (SwampTile) x;
-                y.tick();
+        } else {
+            if (jsonConfig.getInt("parallel_enemy_movement", 0) == 1) {
+                DynamicEntity[] planning = movers;
+                Position[] planned = plans;
+                // every tile's position and every distance field is built now, as enemies planning at once
+                // would race to build them
+                getTileMap().prepare();
+                for (int i = 0; i < count && player != null; i++) {
+                    getPlayerDistanceField(TileMap.blockingFlags(movers[i]));
+                }
+                IntStream.range(0, count).parallel()
+                        .forEach(i -> planned[i] = planning[i].planPos(movementDirection, this));
+            } else {
+                for (int i = 0; i < count; i++) {
+                    plans[i] = movers[i].planPos(movementDirection, this);
+                }
             }
-        );
-
-        if (this.observer.checkBattle(entities) == true) {
-            entities = removeDeadEntities();
-            if (entities.stream().filter(it -> it instanceof Player).findFirst().orElse(null) == null) {
-                // Player has died
-                return getDungeonResponseModel();
+            for (int i = 0; i < count; i++) {
+                moveEnemy(movers[i], plans[i]);
             }
         }
+        Arrays.fill(movers, 0, count, null);
+        Arrays.fill(plans, 0, count, null);
+    }
 
-        // check if the bomb will explode
-        List<Entity> toRemove = new ArrayList<>();
-        for (Entity entity : entities) {
-            if (entity.getType().equals("switch")) {
-                FloorSwitch floorSwitch = (FloorSwitch) entity;
-                if (floorSwitch.getActive()) {
-                    toRemove.addAll(floorSwitch.activateNearby(entities, jsonConfig));
-                }
-                
+    /**
+     * Moves an enemy, then lets the entities on the tile it stepped onto react to it
+     * @param enemy
+     * @param next - the position it planned to move to
+     */
+    private void moveEnemy(DynamicEntity enemy, Position next) {
+        Position previous = enemy.getPosition();
+        enemy.setPosition(next);
+        observer.getDetector().moved(enemy, previous, registry.getPlayer());
+        if (!enemy.getPosition().equals(previous)) {
+            if (entered == null) {
+                entered = new ArrayList<>();
+            }
+            registry.getEntitiesAt(enemy.getPosition(), entered);
+            for (int i = 0; i < entered.size(); i++) {
+                entered.get(i).onEnter(enemy);
             }
         }
-        entities.removeAll(toRemove);
-        return getDungeonResponseModel();
     }
 
     /**
-     * Get rid of deceased entities from game
-     * @return deceased entities
+     * Get rid of entities deceased in the last battles, only the player and the enemies it fought can have died
      */
-    private List<Entity> removeDeadEntities() {
-        List <Entity> result = new ArrayList<>();
-        result = entities.stream().filter(e -> !(e instanceof DynamicEntity) || ((e instanceof DynamicEntity) && ((DynamicEntity)e).getHealth() > 0)).collect(Collectors.toList());
-        return result;
+    private void removeDeadEntities() {
+        for (DynamicEntity enemy : observer.getLastOpponents()) {
+            if (!(enemy.getHealth() > 0)) {
+                removeFromDungeon(enemy);
+            }
+        }
+        Player player = registry.getPlayer();
+        if (player != null && !(player.getHealth() > 0)) {
+            removeFromDungeon(player);
+        }
     }
 
     /**
@@ -471,81 +757,195 @@ public class DungeonManiaController implements Serializable {
      * @return executed ticks for movement
      */
     public DungeonResponse tick(Direction movementDirection) {
-        //move player
-        entities.stream().filter(it -> it instanceof Player).forEach(
-            x -> {
-                Player p = (Player) x;
-                p.updatePos(movementDirection, entities);
-            }
-        );
-        player.tickPotionEffects();
-
-        //Check for sceptre, then reduce duration + apply mind control
-        if (player.hasBuildableItem("sceptre")) {
-            Sceptre sceptre = (Sceptre) player.getInventory().getBuildableItem("sceptre");
-            if (sceptre.getisActive() == true) {
-                setStatus(player.tickSceptre());
-            }
+        move(movementDirection);
+        return getDungeonResponseModel();
+    }
+
+    private void move(Direction movementDirection) {
+        changed();
+        runTick(getMovePipeline(), new TickContext(movementDirection));
+    }
+
+    /**
+     * Adds a timing hook, told how long each tick system takes
+     * @param listener
+     */
+    public void addTickListener(TickListener listener) {
+        getTickListeners().add(listener);
+    }
+
+    /**
+     * Removes a timing hook
+     * @param listener
+     */
+    public void removeTickListener(TickListener listener) {
+        getTickListeners().remove(listener);
+    }
+
+    /**
+     * Gets the systems of a movement tick
+     * @return the pipeline run by tick(Direction)
+     */
+    public TickPipeline getMovePipeline() {
+        if (movePipeline == null) {
+            buildPipelines();
         }
+        return movePipeline;
+    }
 
-        if (this.observer.checkBattle(entities)) {
-            entities = removeDeadEntities();
-            if (entities.stream().filter(it -> it instanceof Player).findFirst().orElse(null) == null) {
-                // Player has died
-                return getDungeonResponseModel();
-            }
+    /**
+     * Gets the systems of an item tick
+     * @return the pipeline run by tick(String), after the item is used
+     */
+    public TickPipeline getItemPipeline() {
+        if (itemPipeline == null) {
+            buildPipelines();
         }
-        // move Dynamic entities except Player
-        entities.stream().filter(it -> (it instanceof DynamicEntity) && (it instanceof Player == false)).forEach(
-            x -> {
-                DynamicEntity y = (DynamicEntity) x;
-                y.updatePos(movementDirection, entities);
-            }
-        );
-        
-        // check for swamp tiles
-        entities.stream().filter(it -> (it instanceof SwampTile)).forEach(
-            x -> {
-                SwampTile y = (SwampTile) x;
-                y.tick();
-            }
-        );
-        
-        if (this.observer.checkBattle(entities)) {
-            entities = removeDeadEntities();
-            if (entities.stream().filter(it -> it instanceof Player).findFirst().orElse(null) == null) {
-                // Player has died
-                return getDungeonResponseModel();
+        return itemPipeline;
+    }
+
+    private void runTick(TickPipeline pipeline, TickContext context) {
+        pipeline.run(context, getTickListeners());
+    }
+
+    private List<TickListener> getTickListeners() {
+        if (tickListeners == null) {
+            tickListeners = new ArrayList<>();
+        }
+        return tickListeners;
+    }
+
+    /**
+     * Detonates the bombs set off this tick, and any bombs caught in their blasts.
+     * Switches wake when a boulder activates them, bombs wake when placed next to an active switch.
+     */
+    private void detonateBombs() {
+        Scheduler scheduler = registry.getScheduler();
+        for (FloorSwitch floorSwitch : scheduler.getAwake(FloorSwitch.class)) {
+            scheduler.sleep(floorSwitch);
+            if (floorSwitch.getActive()) {
+                floorSwitch.getAdjacentBombs(registry).forEach(scheduler::wake);
             }
         }
-        player.pickUp(entities);
-        List <Entity> copy = new ArrayList<>();
-        copy.addAll(entities);
-        copy.stream().filter(x -> x instanceof ZombieToastSpawner).forEach(
-            x -> {
-                ZombieToastSpawner spawner = (ZombieToastSpawner) x;
-                spawner.tick();
+
+        Deque<ActiveBomb> fuses = new ArrayDeque<>(scheduler.getAwake(ActiveBomb.class));
+        Set<Entity> toRemove = new LinkedHashSet<>();
+        while (!fuses.isEmpty()) {
+            ActiveBomb bomb = fuses.poll();
+            scheduler.sleep(bomb);
+            if (!toRemove.add(bomb)) {
+                // already caught in an earlier blast, which set it off in turn
+                continue;
             }
-        );
-        spiderspawner.tick();
-        
-        // Check if the bomb will explode
-        List<Entity> toRemove = new ArrayList<>();
-        for (Entity entity : entities) {
-            if (entity.getType().equals("switch")) {
-                FloorSwitch floorSwitch = (FloorSwitch) entity;
-                if (floorSwitch.getActive()) {
-                    toRemove.addAll(floorSwitch.activateNearby(entities, jsonConfig));
+            for (Entity entity : bomb.explode(registry, jsonConfig)) {
+                if (entity instanceof ActiveBomb && !toRemove.contains(entity)) {
+                    fuses.add((ActiveBomb) entity);
+                } else {
+                    toRemove.add(entity);
                 }
-                
             }
         }
-        entities.removeAll(toRemove);
-        return getDungeonResponseModel();
+        registry.removeAll(toRemove);
+    }
+
+    /**
+     * Builds the tick systems, shared by both kinds of tick. Systems are not saved, a loaded game builds them again.
+     * Systems look up the registry's parts when they run, as new and loaded games replace the registry
+     */
+    private void buildPipelines() {
+        TickSystem movePlayer = new TickSystem("move_player",
+            EnumSet.of(Component.PLAYER, Component.TERRAIN), EnumSet.of(Component.PLAYER, Component.TERRAIN),
+            c -> registry.getPlayer() != null,
+            c -> {
+                Player moving = registry.getPlayer();
+                Position from = moving.getPosition();
+                moving.updatePos(c.getDirection(), this);
+                observer.getDetector().playerMoved(from);
+            });
+        TickSystem potions = new TickSystem("potions",
+            EnumSet.of(Component.INVENTORY), EnumSet.of(Component.PLAYER, Component.INVENTORY),
+            c -> true,
+            c -> player.tickPotionEffects());
+        TickSystem sceptre = new TickSystem("sceptre",
+            EnumSet.of(Component.INVENTORY), EnumSet.of(Component.INVENTORY, Component.ENEMIES),
+            c -> player.hasBuildableItem("sceptre"),
+            c -> {
+                Sceptre held = (Sceptre) player.getInventory().getBuildableItem("sceptre");
+                if (held.getisActive() == true) {
+                    setStatus(player.tickSceptre());
+                }
+            });
+        TickSystem battle = new TickSystem("battle",
+            EnumSet.of(Component.PLAYER, Component.INVENTORY, Component.ENEMIES),
+            EnumSet.of(Component.PLAYER, Component.INVENTORY, Component.ENEMIES, Component.BATTLES),
+            // with pass-through combat the player and enemies move at the same time, so battles wait for enemies
+            c -> registry.count(DynamicEntity.class) > 1
+                && (c.haveEnemiesMoved() || !observer.getDetector().isPassThrough()),
+            c -> {
+                if (this.observer.checkBattle(this)) {
+                    removeDeadEntities();
+                    if (registry.getPlayer() == null) {
+                        // Player has died
+                        c.halt();
+                    }
+                }
+            });
+        TickSystem moveEnemies = new TickSystem("move_enemies",
+            EnumSet.of(Component.PLAYER, Component.ENEMIES, Component.TERRAIN), EnumSet.of(Component.ENEMIES),
+            c -> registry.count(DynamicEntity.class) > (registry.getPlayer() == null ? 0 : 1),
+            c -> {
+                moveEnemies(c.getDirection());
+                c.enemiesMoved();
+            });
+        TickSystem swamps = new TickSystem("swamps",
+            EnumSet.of(Component.TERRAIN), EnumSet.of(Component.TERRAIN),
+            c -> registry.getScheduler().hasAwake(SwampTile.class),
+            c -> {
+                Scheduler scheduler = registry.getScheduler();
+                // only swamp tiles with an enemy stuck in them are awake
+                for (SwampTile swamp : scheduler.getAwake(SwampTile.class)) {
+                    swamp.tick();
+                    if (!swamp.isTrapping()) {
+                        scheduler.sleep(swamp);
+                    }
+                }
+            });
+        TickSystem pickUp = new TickSystem("pick_up",
+            EnumSet.of(Component.PLAYER), EnumSet.of(Component.INVENTORY),
+            c -> registry.getPlayer() != null,
+            c -> player.pickUp(this));
+        TickSystem clock = new TickSystem("clock",
+            EnumSet.noneOf(Component.class), EnumSet.of(Component.SPAWNERS),
+            c -> true,
+            c -> registry.getScheduler().advance());
+        TickSystem zombieSpawners = new TickSystem("zombie_spawners",
+            EnumSet.of(Component.SPAWNERS, Component.TERRAIN), EnumSet.of(Component.SPAWNERS, Component.ENEMIES),
+            c -> registry.getScheduler().hasAwake(ZombieToastSpawner.class),
+            c -> {
+                Scheduler scheduler = registry.getScheduler();
+                // spawners wake every spawn rate ticks
+                for (ZombieToastSpawner spawner : scheduler.getAwake(ZombieToastSpawner.class)) {
+                    scheduler.sleep(spawner);
+                    spawner.tick();
+                }
+            });
+        TickSystem spiderSpawner = new TickSystem("spider_spawner",
+            EnumSet.of(Component.SPAWNERS, Component.PLAYER, Component.TERRAIN),
+            EnumSet.of(Component.SPAWNERS, Component.ENEMIES),
+            c -> true,
+            c -> spiderspawner.tick());
+        TickSystem bombs = new TickSystem("bombs",
+            EnumSet.of(Component.BOMBS, Component.TERRAIN), EnumSet.of(Component.BOMBS, Component.TERRAIN, Component.ENEMIES),
+            c -> registry.getScheduler().hasAwake(FloorSwitch.class) || registry.getScheduler().hasAwake(ActiveBomb.class),
+            c -> detonateBombs());
+
+        movePipeline = new TickPipeline(List.of(movePlayer, potions, sceptre, battle, moveEnemies, swamps, battle,
+            pickUp, clock, zombieSpawners, spiderSpawner, bombs));
+        itemPipeline = new TickPipeline(List.of(potions, sceptre, moveEnemies, swamps, battle, bombs));
     }
 
     public List<String> validBuildables() {
-        return Arrays.asList("bow", "shield", "sceptre", "midnight_armour");
+        return RecipeBook.getStandard().getItems();
     }
 
     /**
@@ -557,6 +957,11 @@ public class DungeonManiaController implements Serializable {
      * @throws InvalidActionException
      */
     public DungeonResponse build(String buildable) throws IllegalArgumentException, InvalidActionException {
+        buildItem(buildable);
+        return getDungeonResponseModel();
+    }
+
+    private void buildItem(String buildable) throws IllegalArgumentException, InvalidActionException {
         if (!validBuildables().contains(buildable)) {
             throw new IllegalArgumentException();
         }
@@ -567,15 +972,15 @@ public class DungeonManiaController implements Serializable {
 
         // Midnight Armour, no zombies exist
         if (buildable.equals("midnight_armour")) {
-            if (!entities.stream().filter(it -> it.getType().equals("zombie_toast")).findFirst().isEmpty()) {
+            if (registry.has(ZombieToast.class)) {
                 throw new InvalidActionException("Zombies are present!");
             }
         }
+        changed();
 
         playerInv.buildItem(buildable, String.valueOf(id));
 
         id ++;
-        return getDungeonResponseModel();
     }
 
     /**
@@ -587,12 +992,71 @@ public class DungeonManiaController implements Serializable {
      * @throws InvalidActionException
      */
     public DungeonResponse interact(String entityId) throws IllegalArgumentException, InvalidActionException {
-        Entity target = entities.stream().filter(x -> x.getId().equals(entityId)).findFirst().orElse(null);
+        interactWith(entityId);
+        return getDungeonResponseModel();
+    }
+
+    private void interactWith(String entityId) throws IllegalArgumentException, InvalidActionException {
+        Entity target = registry.getById(entityId);
         if (target == null) {
             throw new IllegalArgumentException();
         }
+        target.checkInteract(player);
+        changed();
         target.interact(player);
-        return getDungeonResponseModel();
+    }
+
+    /**
+     * Applies a sequence of actions, building a dungeon response only when asked for
+     * /game/batch
+     * @param actions
+     * @param responseEvery - also build a response after every this many steps, or 0 for only the final response
+     * @return the number of steps taken, why the batch stopped early if it did, and the responses built
+     * @throws IllegalArgumentException if actions is null, responseEvery is negative, or as the action would
+     * @throws InvalidActionException as the action would. The steps before it stay applied
+     */
+    public BatchResponse batch(List<Action> actions, int responseEvery)
+            throws IllegalArgumentException, InvalidActionException {
+        if (actions == null) {
+            throw new IllegalArgumentException("A batch needs a list of actions");
+        }
+        if (responseEvery < 0) {
+            throw new IllegalArgumentException("responseEvery cannot be negative");
+        }
+        List<DungeonResponse> responses = new ArrayList<>();
+        String stoppedBy = null;
+        int steps = 0;
+        while (steps < actions.size() && stoppedBy == null) {
+            Action action = actions.get(steps);
+            switch (action.getKind()) {
+                case MOVE:
+                    move(action.getDirection());
+                    break;
+                case ITEM:
+                    useItem(action.getTarget());
+                    break;
+                case BUILD:
+                    buildItem(action.getTarget());
+                    break;
+                case INTERACT:
+                    interactWith(action.getTarget());
+                    break;
+            }
+            steps++;
+            if (registry.getPlayer() == null) {
+                stoppedBy = "player_died";
+            } else if (goalStrategy.isComplete(registry)) {
+                stoppedBy = "goal_complete";
+            }
+            if (responseEvery > 0 && steps % responseEvery == 0 && steps < actions.size() && stoppedBy == null) {
+                // the next step changes the dungeon, so this response is completed now
+                DungeonResponse response = getDungeonResponseModel();
+                response.materialise();
+                responses.add(response);
+            }
+        }
+        responses.add(getDungeonResponseModel());
+        return new BatchResponse(steps, stoppedBy, responses);
     }
 
     /**
@@ -600,11 +1064,8 @@ public class DungeonManiaController implements Serializable {
      * @return boolean of status
      */
     public boolean switchActive() {
-        for (Entity entity : entities) {
-            if (entity instanceof FloorSwitch) {
-                FloorSwitch check = (FloorSwitch) entity;
-                return check.getActive();
-            }
+        for (FloorSwitch check : registry.getAll(FloorSwitch.class)) {
+            return check.getActive();
         }
        return false;
     }
@@ -613,7 +1074,7 @@ public class DungeonManiaController implements Serializable {
      * @return boolean of exit status
      */
     public boolean exitReached() {
-        Exit exit = (Exit) entities.stream().filter(x -> x instanceof Exit).findFirst().orElse(null);
+        Exit exit = registry.getAll(Exit.class).stream().findFirst().orElse(null);
         return exit.getActive();
     }
     
@@ -623,9 +1084,7 @@ public class DungeonManiaController implements Serializable {
      * @return relevant collisions
      */
     public Entity checkStaticCollision(Position pos) {
-        List<Entity> colliders = this.entities.stream()
-                .filter(x -> x.getPosition().equals(pos))
-                .collect(Collectors.toList());
+        List<Entity> colliders = getEntitiesAt(pos);
 
         return colliders.stream().filter(x -> x instanceof Boulder)
                 .findFirst()
@@ -635,52 +1094,33 @@ public class DungeonManiaController implements Serializable {
 
     /**
      * List battle responses
-     * @return corresponding responses from battles
+     * @return read-only responses of every battle so far, converted once when each battle was recorded
      */
     public List<BattleResponse> listBattleResponses() {
-        // Convert battles to battleResponses
-        List<BattleRecord> listOfBattles = this.observer.getBattleRecords();
-
-        List<BattleResponse> result = new ArrayList<>();
-        listOfBattles.stream().forEach(
-            battle -> {
-                List<RoundResponse> roundResponses = convertRoundRecords(battle.getRounds());
-                DynamicEntity temp = battle.getEnemy();
-                result.add(new BattleResponse(temp.getType(), roundResponses, battle.getInitialPlayerHealth(), battle.getInitialEnemyHealth()));
-            }
-        );
-        return result;
+        return observer.getBattleResponses();
     }
 
     /**
-     * Conversion of round records
-     * @param roundRecords
-     * @return converted records of rounds
+     * Lists the battle responses from an index on
+     * @param since - the number of battles the caller has already seen
+     * @return read-only responses of the later battles
+     * @throws IllegalArgumentException if since is negative
      */
-    public List<RoundResponse> convertRoundRecords(List<RoundRecord> roundRecords) {
-        List<RoundResponse> result = new ArrayList<>();
-        roundRecords.stream().forEach(
-            round -> {
-                List<ItemResponse> itemResponses = convertItemResponse(round.getItemsUsed());
-                result.add(new RoundResponse(round.getChangePlayerHealth(), round.getChangeEnemyHealth(), itemResponses));
-            }
-        );
-        return result;
+    public List<BattleResponse> listBattleResponses(int since) throws IllegalArgumentException {
+        return observer.getBattleResponses(since);
     }
 
     /**
-     * Conversion of item responses
-     * @param itemsUsed
-     * @return converted responses of items
+     * Lists the battle responses from an index on, with where they start
+     * /game/battles
+     * @param since - the number of battles the caller has already seen
+     * @return the index of the first battle listed, the number of battles fought and the later battles
+     * @throws IllegalArgumentException if since is negative
      */
-    private List<ItemResponse> convertItemResponse(List<ItemRecord> itemsUsed) {
-        List <ItemResponse> result = new ArrayList<>();
-        itemsUsed.stream().forEach(
-            item -> {
-                result.add(new ItemResponse(item.getId(), item.getType()));
-            }
-        );
-        return result;
+    public BattleListResponse listBattles(int since) throws IllegalArgumentException {
+        List<BattleResponse> battles = observer.getBattleResponses(since);
+        int total = observer.getBattleCount();
+        return new BattleListResponse(total - battles.size(), total, battles);
     }
 
     /**
@@ -688,29 +1128,23 @@ public class DungeonManiaController implements Serializable {
      * @param id
      */
     public void removeEntity(String id) {
-        Entity remove = entities.stream().filter(x -> x.getId() == id).findFirst().orElse(null);
+        Entity remove = registry.getById(id);
         if (remove != null) {
-            entities.remove(remove);
+            removeFromDungeon(remove);
         }
     }
 
     public String getMercStatus() {
-        for (Entity entity : entities) {
-            if (entity instanceof Mercenary) {
-                Mercenary check = (Mercenary) entity;
-                return check.getStatus();
-            }
+        for (Mercenary check : registry.getAll(Mercenary.class)) {
+            return check.getStatus();
         }
        return null;
     }
 
     
     public String getAssassinStatus() {
-        for (Entity entity : entities) {
-            if (entity instanceof Assassin) {
-                Assassin check = (Assassin) entity;
-                return check.getStatus();
-            }
+        for (Assassin check : registry.getAll(Assassin.class)) {
+            return check.getStatus();
         }
        return null;
     }
@@ -719,10 +1153,10 @@ public class DungeonManiaController implements Serializable {
     public void setStatus(boolean status) {
         // If TRUE: sceptre is still active
         if (!status) {
-            entities.stream().filter(e -> (e instanceof Assassin) && ((Assassin)e).getMindCtrl() == true)
-            .forEach(e -> {((Assassin)e).setStatus("HOSTILE"); ((Assassin)e).setMindCtrl(false);});
-            entities.stream().filter(e -> (e instanceof Mercenary) && ((Mercenary)e).getMindCtrl() == true)
-            .forEach(e -> {((Mercenary)e).setStatus("HOSTILE"); ((Mercenary)e).setMindCtrl(false);});
+            registry.getAll(Assassin.class).stream().filter(e -> e.getMindCtrl() == true)
+            .forEach(e -> {e.setStatus("HOSTILE"); e.setMindCtrl(false);});
+            registry.getAll(Mercenary.class).stream().filter(e -> e.getMindCtrl() == true)
+            .forEach(e -> {e.setStatus("HOSTILE"); e.setMindCtrl(false);});
             player.removeBuildableItem("sceptre");
         }
     }
@@ -739,13 +1173,14 @@ public class DungeonManiaController implements Serializable {
         objects.add(id); 
         objects.add(jsonConfig); 
         objects.add(unpairedPortals); 
-        objects.add(entities);
+        objects.add(registry);
         objects.add(player);  
         objects.add(dungeonId); 
         objects.add(goalStrategy); 
         objects.add(dungeonName); 
         objects.add(observer); 
         objects.add(spiderspawner); 
+        objects.add(random);
         
         try {
             FileOutputStream f = new FileOutputStream(new File(name + ".game.dat"));
@@ -766,7 +1201,8 @@ public class DungeonManiaController implements Serializable {
      * /game/load
      */
     public DungeonResponse loadGame(String name) throws IllegalArgumentException {
-        
+        changed();
+        forgetDungeon();
         try {
             
             FileInputStream fi = new FileInputStream(new File(name + ".game.dat"));
@@ -777,13 +1213,14 @@ public class DungeonManiaController implements Serializable {
             this.id = (Integer)objects.get(0);
             this.jsonConfig = (SerializableJSONObject)objects.get(1);
             this.unpairedPortals = (List<Portal>)objects.get(2);
-            this.entities = (List<Entity>)objects.get(3);
+            this.registry = (EntityRegistry)objects.get(3);
             this.player = (Player)objects.get(4);
             this.dungeonId = (String)objects.get(5);
             this.goalStrategy = (Goal)objects.get(6);
             this.dungeonName = (String)objects.get(7);
             this.observer = (Observer)objects.get(8);
-            this.spiderspawner = (Spiderspawner)objects.get(9);            
+            this.spiderspawner = (Spiderspawner)objects.get(9);
+            this.random = (Random)objects.get(10);            
             
             oi.close();
                         
@@ -14,6 +14,9 @@ public abstract class Entity implements Serializable{
 	private final String id;
 	private Position position;
 	private String type;
+	private SpatialIndex spatialIndex;
+	private long indexOrder;
+	private Scheduler scheduler;
 
 	public abstract boolean collide(Entity entity);
 
@@ -35,6 +38,55 @@ public abstract class Entity implements Serializable{
 	public int moveCost() {
 		return 0;
 	}
+
+	/**
+	 * @return the TileMap flags this entity sets on its tile, 0 unless overridden.
+	 */
+	public int getTileFlags() {
+		return 0;
+	}
+
+	/**
+	 * Called when a moving entity steps onto this entity's tile, does nothing unless overridden.
+	 * @param entity
+	 */
+	public void onEnter(Entity entity) {
+	}
+
+	/**
+	 * Called once the entity has been added to a dungeon, does nothing unless overridden.
+	 * Entities with periodic work schedule their first wake up here.
+	 */
+	protected void onAdded() {
+	}
+
+	/**
+	 * Puts this entity in the dungeon's active set, so the tick system for its kind runs it this tick
+	 */
+	protected void wake() {
+		if (scheduler != null) {
+			scheduler.wake(this);
+		}
+	}
+
+	/**
+	 * Wakes this entity once a number of ticks have passed
+	 * @param ticks
+	 */
+	protected void wakeIn(int ticks) {
+		if (scheduler != null) {
+			scheduler.wakeIn(this, ticks);
+		}
+	}
+
+	/**
+	 * Recomputes this entity's tile in the dungeon's TileMap, called when its tile flags or move cost change
+	 */
+	protected void refreshTile() {
+		if (spatialIndex != null) {
+			spatialIndex.refresh(position);
+		}
+	}
 	/**
 	 * default EntityResponse. 
 	 * @return always false for isInteractable unless overridden.
@@ -56,7 +108,11 @@ public abstract class Entity implements Serializable{
 	 * @param position the position to set
 	 */
 	public void setPosition(Position position) {
+		Position previous = this.position;
 		this.position = position;
+		if (spatialIndex != null) {
+			spatialIndex.move(this, previous, position);
+		}
 	}
 
 	/**
@@ -83,6 +139,14 @@ public abstract class Entity implements Serializable{
         this.type = type;
     }
 
+	/**
+	 * Checks that the player can interact, without changing anything
+	 * @param player
+	 * @throws InvalidActionException if interact would reject the player
+	 */
+	public void checkInteract(Player player) throws InvalidActionException {
+	}
+
 	/**
 	 * Interaction of player
 	 * @param player
@@ -91,4 +155,52 @@ public abstract class Entity implements Serializable{
     public void interact(Player player) throws InvalidActionException {
     }
 
+	/**
+	 * Gets the spatial index this entity is registered in
+	 * @return the spatial index, or null if not in a dungeon
+	 */
+	SpatialIndex getSpatialIndex() {
+		return spatialIndex;
+	}
+
+	/**
+	 * Sets the spatial index this entity is registered in
+	 * @param spatialIndex
+	 */
+	void setSpatialIndex(SpatialIndex spatialIndex) {
+		this.spatialIndex = spatialIndex;
+	}
+
+	/**
+	 * Gets the scheduler this entity is registered in
+	 * @return the scheduler, or null if not in a dungeon
+	 */
+	Scheduler getScheduler() {
+		return scheduler;
+	}
+
+	/**
+	 * Sets the scheduler this entity is registered in
+	 * @param scheduler
+	 */
+	void setScheduler(Scheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Gets the order in which this entity was added to the dungeon
+	 * @return the index order
+	 */
+	long getIndexOrder() {
+		return indexOrder;
+	}
+
+	/**
+	 * Sets the order in which this entity was added to the dungeon
+	 * @param indexOrder
+	 */
+	void setIndexOrder(long indexOrder) {
+		this.indexOrder = indexOrder;
+	}
+
 }
@@ -0,0 +1,236 @@
+package dungeonmania;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import dungeonmania.collectible.Key;
+import dungeonmania.dynamic_entity.Assassin;
+import dungeonmania.dynamic_entity.DynamicEntity;
+import dungeonmania.dynamic_entity.Mercenary;
+import dungeonmania.dynamic_entity.Player;
+import dungeonmania.dynamic_entity.ZombieToast;
+import dungeonmania.static_entity.ActiveBomb;
+import dungeonmania.static_entity.Exit;
+import dungeonmania.static_entity.FloorSwitch;
+import dungeonmania.static_entity.SwampTile;
+import dungeonmania.static_entity.ZombieToastSpawner;
+import dungeonmania.static_entity.Door.Door;
+import dungeonmania.util.Position;
+
+/**
+ * Owns every entity in the dungeon and the views used to look them up quickly.
+ *      - The entity list keeps insertion order, which is the order entities act in each tick.
+ *      - The SpatialIndex (and through it the TileMap) answers tile lookups.
+ *      - Each tracked kind keeps its live members, in list order, so a tick phase only visits what it needs.
+ *      - The Scheduler holds the entities that have work to do this tick.
+ *      - Entities are indexed by id, for interactions and removals by id. Batches are removed in one pass.
+ *      - The player is held directly, and cleared when the player is removed.
+ *      - Additions and removals are reported to the ChangeLog, if a client follows the dungeon by deltas.
+ */
+public class EntityRegistry implements Serializable {
+    private static final List<Class<? extends Entity>> KINDS = List.of(
+        DynamicEntity.class, Mercenary.class, Assassin.class, ZombieToast.class,
+        SwampTile.class, ZombieToastSpawner.class, FloorSwitch.class, ActiveBomb.class, Boulder.class, Exit.class,
+        Door.class, Key.class);
+
+    private final List<Entity> entities = new ArrayList<>();
+    private final SpatialIndex spatialIndex = new SpatialIndex();
+    private final Scheduler scheduler = new Scheduler();
+    private final Map<Class<? extends Entity>, Set<Entity>> kinds = new HashMap<>();
+    private final Map<String, Entity> byId = new HashMap<>();
+    private Player player;
+    private transient ChangeLog changeLog;
+
+    /**
+     * EntityRegistry Constructor
+     */
+    public EntityRegistry() {
+        KINDS.forEach(kind -> kinds.put(kind, new LinkedHashSet<>()));
+    }
+
+    /**
+     * Adds an entity to the dungeon
+     * @param entity
+     */
+    public void add(Entity entity) {
+        entities.add(entity);
+        spatialIndex.add(entity);
+        byId.putIfAbsent(entity.getId(), entity);
+        kinds.forEach((kind, members) -> {
+            if (kind.isInstance(entity)) {
+                members.add(entity);
+            }
+        });
+        if (entity instanceof Player) {
+            player = (Player) entity;
+        }
+        entity.setScheduler(scheduler);
+        entity.onAdded();
+        if (changeLog != null) {
+            changeLog.added(entity);
+        }
+    }
+
+    /**
+     * Removes an entity from the dungeon
+     * @param entity
+     * @return true if the entity was in the dungeon
+     */
+    public boolean remove(Entity entity) {
+        return removeAll(List.of(entity)) == 1;
+    }
+
+    /**
+     * Removes a batch of entities from the dungeon, in a single pass over the entity list
+     * @param removed
+     * @return the number of entities that were in the dungeon
+     */
+    public int removeAll(Collection<? extends Entity> removed) {
+        Set<Entity> batch = Collections.newSetFromMap(new IdentityHashMap<>());
+        batch.addAll(removed);
+        List<Entity> gone = new ArrayList<>();
+        entities.removeIf(entity -> batch.contains(entity) && gone.add(entity));
+
+        Set<String> orphaned = new HashSet<>();
+        for (Entity entity : gone) {
+            spatialIndex.remove(entity);
+            scheduler.remove(entity);
+            entity.setScheduler(null);
+            kinds.values().forEach(members -> members.remove(entity));
+            if (byId.remove(entity.getId(), entity)) {
+                orphaned.add(entity.getId());
+            }
+            if (entity == player) {
+                player = null;
+            }
+            if (changeLog != null) {
+                changeLog.removed(entity);
+            }
+        }
+        if (!orphaned.isEmpty()) {
+            // hand each id to the next entity sharing it, if any
+            for (Entity entity : entities) {
+                if (orphaned.contains(entity.getId())) {
+                    byId.putIfAbsent(entity.getId(), entity);
+                }
+            }
+        }
+        return gone.size();
+    }
+
+    /**
+     * Gets all entities
+     * @return read-only view of the entities, in insertion order
+     */
+    public List<Entity> getEntities() {
+        return Collections.unmodifiableList(entities);
+    }
+
+    /**
+     * Gets an entity by id
+     * @param id
+     * @return the first entity added with id that is still in the dungeon, or null
+     */
+    public Entity getById(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Gets all entities of a kind
+     * @param <T>
+     * @param kind - one of the tracked kinds
+     * @return a snapshot of the live members of kind, in insertion order
+     * @throws IllegalArgumentException if kind is not tracked
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> List<T> getAll(Class<T> kind) throws IllegalArgumentException {
+        return new ArrayList<>((Set<T>) members(kind));
+    }
+
+    /**
+     * Checks for entities of a kind
+     * @param kind - one of the tracked kinds
+     * @return true if any entity of kind is in the dungeon
+     * @throws IllegalArgumentException if kind is not tracked
+     */
+    public boolean has(Class<? extends Entity> kind) throws IllegalArgumentException {
+        return !members(kind).isEmpty();
+    }
+
+    /**
+     * Counts entities of a kind
+     * @param kind - one of the tracked kinds
+     * @return the number of entities of kind in the dungeon
+     * @throws IllegalArgumentException if kind is not tracked
+     */
+    public int count(Class<? extends Entity> kind) throws IllegalArgumentException {
+        return members(kind).size();
+    }
+
+    /**
+     * Gets player
+     * @return the player, or null if the player has been removed (died)
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets all entities on a tile
+     * @param position
+     * @return the entities at position, in insertion order
+     */
+    public List<Entity> getEntitiesAt(Position position) {
+        return spatialIndex.getEntitiesAt(position);
+    }
+
+    /**
+     * Copies the entities on a tile into a list, for callers that reuse one buffer
+     * @param position
+     * @param into - cleared, then filled with the occupants of the tile in insertion order
+     */
+    public void getEntitiesAt(Position position, List<Entity> into) {
+        spatialIndex.getEntitiesAt(position, into);
+    }
+
+    /**
+     * Gets the scheduler
+     * @return the active set of the dungeon
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Gets the tile map
+     * @return the dense terrain map of the dungeon
+     */
+    public TileMap getTileMap() {
+        return spatialIndex.getTileMap();
+    }
+
+    private Set<Entity> members(Class<? extends Entity> kind) {
+        Set<Entity> members = kinds.get(kind);
+        if (members == null) {
+            throw new IllegalArgumentException("Entities of kind " + kind.getSimpleName() + " are not tracked");
+        }
+        return members;
+    }
+
+    /**
+     * Sets the change log additions and removals are reported to
+     * @param changeLog
+     */
+    void setChangeLog(ChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+}
@@ -1,11 +1,19 @@
 package dungeonmania;
 
 import dungeonmania.dynamic_entity.Player;
+import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.recipe.Recipe;
+import dungeonmania.recipe.RecipeBook;
 import dungeonmania.response.models.ItemResponse;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import dungeonmania.collectible.*;
@@ -14,10 +22,17 @@ import java.io.Serializable;
 public class Inventory implements Serializable{
     
     private Player player;
-    private List<Collectible> entities; 
-    private List<String> buildable = Arrays.asList("bow", "shield", "sceptre", "midnight_armour");
+    // every collectible in pick up order, and the same collectibles bucketed by type
+    private LinkedHashSet<Collectible> entities;
+    private Map<String, LinkedHashSet<Collectible>> itemsByType;
     private List<Buildable> builtItems;
+    private Map<String, Collectible> itemsById;
+    private Map<String, Buildable> builtItemsById;
     private SerializableJSONObject config;
+    // goes up whenever an item is added or removed, so clients can tell when the item responses changed
+    private int version = 0;
+    // which recipes the held items satisfy, by recipe index. Kept up to date as items come and go, rebuilt after a load
+    private transient boolean[] canBuild;
 
     /**
      * Constructor for Inventory
@@ -25,8 +40,11 @@ public class Inventory implements Serializable{
      */
     public Inventory(Player player, SerializableJSONObject config) {
         this.setPlayer(player);
-        entities = new ArrayList<>();
+        entities = new LinkedHashSet<>();
+        itemsByType = new HashMap<>();
         builtItems = new ArrayList<>();
+        itemsById = new HashMap<>();
+        builtItemsById = new HashMap<>();
         this.config = config;
     }
 
@@ -39,7 +57,12 @@ public class Inventory implements Serializable{
         if (entity instanceof Collectible) {
             Collectible ent = (Collectible) entity;
             ent.setPlayer(player);
-            this.entities.add(ent);
+            if (this.entities.add(ent)) {
+                itemsByType.computeIfAbsent(ent.getType(), t -> new LinkedHashSet<>()).add(ent);
+            }
+            itemsById.putIfAbsent(ent.getId(), ent);
+            version++;
+            itemsChanged(ent.getType());
         }
     }
 
@@ -51,6 +74,14 @@ public class Inventory implements Serializable{
         this.player = player;
     }
 
+    /**
+     * Gets version
+     * @return the inventory version, which goes up whenever an item is added or removed
+     */
+    public int getVersion() {
+        return version;
+    }
+
     /**
      * Gets item responses
      * @return responses of items
@@ -66,16 +97,45 @@ public class Inventory implements Serializable{
         return  itemResponses;
     }
 
+    /**
+     * Gets the number of items of a type
+     * @param type
+     * @return the number of collectibles of type held
+     */
     public int getNoItemType(String type) {
-        return (int)entities.stream()
-                   .filter(e -> e.getType().equals(type))
-                   .count();
+        LinkedHashSet<Collectible> bucket = itemsByType.get(type);
+        return bucket == null ? 0 : bucket.size();
     }
 
+    /**
+     * Gets the items of a type
+     * @param type
+     * @return an unmodifiable view of the collectibles of type, in pick up order
+     */
+    public Collection<Collectible> getItems(String type) {
+        LinkedHashSet<Collectible> bucket = itemsByType.get(type);
+        return bucket == null ? Collections.emptySet() : Collections.unmodifiableSet(bucket);
+    }
+
+    /**
+     * Removes the first items of a type, or all of them if there are fewer
+     * @param type
+     * @param number
+     */
     public void removeNoItemType(String type, int number) {
-        for (int i = 0; i < number; i++) {
-            removeItem(type);
+        LinkedHashSet<Collectible> bucket = itemsByType.get(type);
+        if (bucket == null) {
+            return;
+        }
+        Iterator<Collectible> it = bucket.iterator();
+        for (int i = 0; i < number && it.hasNext(); i++) {
+            Collectible item = it.next();
+            it.remove();
+            entities.remove(item);
+            unindex(item);
+            version++;
         }
+        itemsChanged(type);
     }
 
     /**
@@ -84,10 +144,8 @@ public class Inventory implements Serializable{
      * @return the items
      */
     public Collectible getItem(String type) {
-        return entities.stream()
-                   .filter(e -> e.getType().equals(type))
-                   .findFirst()
-                   .orElse(null);
+        LinkedHashSet<Collectible> bucket = itemsByType.get(type);
+        return bucket == null || bucket.isEmpty() ? null : bucket.iterator().next();
     }
 
     /**
@@ -109,25 +167,26 @@ public class Inventory implements Serializable{
      * @return collectibles according to id
      */
     public Collectible getItemById(String id) {
-        return entities.stream()
-                   .filter(e -> e.getId().equals(id))
-                   .findFirst()
-                   .orElse(null);
+        return itemsById.get(id);
+    }
+
+    /**
+     * Get built items by id
+     * @param id
+     * @return built item according to id
+     */
+    public Buildable getBuildableItemById(String id) {
+        return builtItemsById.get(id);
     }
 
+    /**
+     * Checks the held items satisfy the recipe of a buildable
+     * @param buildable
+     * @return true if buildable has a recipe and some alternative of it is satisfied
+     */
     public boolean CheckMaterials(String buildable) {
-        switch (buildable) {
-            case "bow":
-                return Bow.checkMaterials(this);
-            case "shield":
-                return Shield.checkMaterials(this);
-            case "sceptre":
-                return Sceptre.checkMaterials(this);
-            case "midnight_armour":
-                return MidnightArmour.checkMaterials(this);
-            default:
-                return false;
-        }
+        Recipe recipe = RecipeBook.getStandard().getRecipe(buildable);
+        return recipe != null && getCanBuild()[recipe.getIndex()];
     }
 
     /**
@@ -135,12 +194,7 @@ public class Inventory implements Serializable{
      * @param itemToRemove
      */
     public void removeItem(String itemToRemove) {
-        for (Collectible item : entities) {
-            if (item.getType().equals(itemToRemove)) {
-                entities.remove(item);
-                break;
-            }
-        }
+        removeNoItemType(itemToRemove, 1);
     }
 
     /**
@@ -151,6 +205,8 @@ public class Inventory implements Serializable{
         for (Buildable item : builtItems) {
             if (item.getType().equals(itemToRemove)) {
                 builtItems.remove(item);
+                unindex(item);
+                version++;
                 return;
             }
         }
@@ -158,43 +214,35 @@ public class Inventory implements Serializable{
 
     public void addBuiltItem(Buildable item) {
         builtItems.add(item);
+        builtItemsById.putIfAbsent(item.getId(), item);
+        version++;
     }
 
     /**
-     * Build an item
+     * Build an item, using the first alternative of its recipe the inventory satisfies
      * @param buildable
      * @param id
-     * @return item built
-     */
-    public void buildItem(String buildable, String id) {
-        switch (buildable) {
-            case "bow":
-                removeItemComponents(Bow.requirements());
-                builtItems.add(new Bow(id, config));
-                break;
-            case "shield":
-                removeItemComponents(Shield.requirements(this));
-                builtItems.add(new Shield(id, config));
-                break;
-            case "midnight_armour":
-                removeItemComponents(MidnightArmour.requirements());
-                builtItems.add(new MidnightArmour(id, config));
-                break;
-            case "sceptre":
-                removeItemComponents(Sceptre.requirements(this));
-                builtItems.add(new Sceptre(id, config));
-                break;
-            default:
-                return;
+     * @throws InvalidActionException if there is no recipe for the item, no way to make it or not enough materials
+     */
+    public void buildItem(String buildable, String id) throws InvalidActionException {
+        Recipe recipe = RecipeBook.getStandard().getRecipe(buildable);
+        if (recipe == null) {
+            throw new InvalidActionException("No recipe for " + buildable);
+        }
+        Recipe.Alternative alternative = recipe.findAlternative(this::getNoItemType);
+        if (alternative == null) {
+            throw new InvalidActionException("Not enough materials!");
         }
+        addBuiltItem(Buildable.create(buildable, id, config));
+        alternative.getConsumes().forEach(this::removeNoItemType);
     }
 
     /**
      * Gets collectable items
      * @return items that are collectable
      */
-    public List<Collectible> getCollectableItems() {
-        return entities;
+    public Collection<Collectible> getCollectableItems() {
+        return Collections.unmodifiableSet(entities);
     }
 
     /**
@@ -206,17 +254,26 @@ public class Inventory implements Serializable{
     }
 
     public void reduceDurability(String type, String id) {
-        if (buildable.contains(type)) {
+        reduceDurability(type, id, 1);
+    }
+
+    /**
+     * Wears an item down by several uses at once
+     * @param type
+     * @param id
+     * @param uses
+     */
+    public void reduceDurability(String type, String id, int uses) {
+        if (RecipeBook.getStandard().getRecipe(type) != null) {
             // Buildable item
-            Buildable item = builtItems.stream().filter(x -> x.getId().equals(id)).collect(Collectors.toList()).get(0);
+            Buildable item = builtItemsById.get(id);
             int currentDurability = item.getDurability();
-            item.setDurability(currentDurability - 1);
+            item.setDurability(currentDurability - uses);
         } else {
             // Collectible item
-            Collectible item = entities.stream().filter(x -> x.getId().equals(id)).collect(Collectors.toList()).get(0);
-            Sword itemSword = ((Sword)item);
+            Sword itemSword = ((Sword)itemsById.get(id));
             int currentDurability = itemSword.getDurability();
-            itemSword.setDurability(currentDurability - 1);
+            itemSword.setDurability(currentDurability - uses);
         }
     }
 
@@ -225,19 +282,85 @@ public class Inventory implements Serializable{
      */
     public void removeBrokenItems() {
         // Deleting broken shields and bows
+        List<Buildable> brokenBuilt = builtItems.stream().filter(item -> item.getDurability() == 0).collect(Collectors.toList());
+        List<Collectible> broken = getItems("sword").stream().filter(item -> (item instanceof Sword) && (((Sword)item).getDurability() == 0)).collect(Collectors.toList());
         builtItems = builtItems.stream().filter(item -> item.getDurability() != 0).collect(Collectors.toList());
-        entities = entities.stream().filter(item -> !(item instanceof Sword) || ((item instanceof Sword) && (((Sword)item).getDurability() != 0))).collect(Collectors.toList());
+        for (Collectible item : broken) {
+            entities.remove(item);
+            itemsByType.get(item.getType()).remove(item);
+        }
+        brokenBuilt.forEach(this::unindex);
+        broken.forEach(this::unindex);
+        if (!brokenBuilt.isEmpty() || !broken.isEmpty()) {
+            version++;
+        }
+        if (!broken.isEmpty()) {
+            itemsChanged("sword");
+        }
+    }
+
+    /**
+     * Drops a removed item from the id index, handing its id to any other item of its type that shares it
+     * @param item
+     */
+    private void unindex(Collectible item) {
+        if (itemsById.remove(item.getId(), item)) {
+            getItems(item.getType()).stream().filter(e -> e.getId().equals(item.getId())).findFirst()
+                .ifPresent(e -> itemsById.put(e.getId(), e));
+        }
+    }
+
+    /**
+     * Drops a removed built item from the id index, handing its id to any other item that shares it
+     * @param item
+     */
+    private void unindex(Buildable item) {
+        if (builtItemsById.remove(item.getId(), item)) {
+            builtItems.stream().filter(e -> e.getId().equals(item.getId())).findFirst()
+                .ifPresent(e -> builtItemsById.put(e.getId(), e));
+        }
     }
     
+    /**
+     * Gets buildables
+     * @return the items the held items can build, in recipe book order
+     */
     public List<String> getBuildables() {
-        return buildable.stream()
-                        .filter(b -> CheckMaterials(b))
-                        .collect(Collectors.toList());
+        boolean[] canBuild = getCanBuild();
+        List<String> buildables = new ArrayList<>();
+        for (Recipe recipe : RecipeBook.getStandard().getRecipes()) {
+            if (canBuild[recipe.getIndex()]) {
+                buildables.add(recipe.getItem());
+            }
+        }
+        return buildables;
     }
 
-    void removeItemComponents(List<String> toRemove) {
-        for (String r : toRemove) {
-            removeItem(r);
+    /**
+     * Gets which recipes are satisfied, checking them all if that is not known yet
+     * @return satisfied flags by recipe index
+     */
+    private boolean[] getCanBuild() {
+        if (canBuild == null) {
+            RecipeBook book = RecipeBook.getStandard();
+            canBuild = new boolean[book.size()];
+            for (Recipe recipe : book.getRecipes()) {
+                canBuild[recipe.getIndex()] = recipe.findAlternative(this::getNoItemType) != null;
+            }
+        }
+        return canBuild;
+    }
+
+    /**
+     * Checks again the recipes that use a type, after items of that type came or went
+     * @param type
+     */
+    private void itemsChanged(String type) {
+        if (canBuild == null) {
+            return;
+        }
+        for (Recipe recipe : RecipeBook.getStandard().getRecipesUsing(type)) {
+            canBuild[recipe.getIndex()] = recipe.findAlternative(this::getNoItemType) != null;
         }
     }
 }
\ No newline at end of file
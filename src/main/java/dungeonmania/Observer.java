@@ -1,55 +1,177 @@
 package dungeonmania;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import dungeonmania.dynamic_entity.DynamicEntity;
-import dungeonmania.dynamic_entity.Mercenary;
 import dungeonmania.dynamic_entity.Player;
 import dungeonmania.dynamic_entity.player.BattleRecord;
-import dungeonmania.util.Position;
+import dungeonmania.dynamic_entity.player.BattleSummary;
+import dungeonmania.response.models.BattleResponse;
+import dungeonmania.util.AppendOnlyList;
 
+/**
+ * Records the battles of a dungeon.
+ * The history can be bounded, so long games keep the same memory and save size:
+ *      - battle_history_limit: the most recent battles are kept in full, 0 (the default) keeps every battle.
+ *      - battle_summary_limit: older battles are kept as summaries without their rounds, 10 times the history
+ *          limit by default.
+ *      - battle_history_file: older summaries still are appended to this file as JSON lines, or let go if unset.
+ * Battles are numbered from 0 in the order they were fought, whatever is still kept.
+ * Opponents are found by a BattleDetector, see pass_through_combat.
+ */
 public class Observer implements Serializable {
     
     public boolean playerDeceased = false;
-    public List<BattleRecord> battleRecords = new ArrayList<>();
+    // the most recent battles, in full
+    private ArrayDeque<BattleRecord> battleRecords = new ArrayDeque<>();
+    // the battles before those, oldest first, when the history is bounded
+    private ArrayDeque<BattleSummary> summaries = new ArrayDeque<>();
+    private int battleCount = 0;
+    private final int historyLimit;
+    private final int summaryLimit;
+    private final String historyFile;
+    private final BattleDetector detector;
+    // the enemies fought in the last check, in the order they were fought
+    private transient List<DynamicEntity> lastOpponents = List.of();
+    // converted once, when the battle is recorded. Not saved, a loaded game converts its records again
+    private transient AppendOnlyList<BattleResponse> battleResponses;
+    // the responses of a bounded history, converted once and kept alongside the summaries and records
+    private transient ArrayDeque<BattleResponse> summaryResponses;
+    private transient ArrayDeque<BattleResponse> recordResponses;
 
     /**
-     * Observer contructor
-     * @param entitiesList
-     * @param player
+     * Observer contructor, keeping every battle
      */
     public Observer() {
+        this(0, 0, null);
     }
 
     /**
-     * Checks battles
-     * @return relevant recordings
+     * Observer constructor, bounding the history as the config says
+     * @param config
      */
-    public boolean checkBattle(List <Entity> entities) {
+    public Observer(SerializableJSONObject config) {
+        this(config.getInt("battle_history_limit", 0),
+            config.getInt("battle_summary_limit", 10 * config.getInt("battle_history_limit", 0)),
+            config.containsKey("battle_history_file") ? config.getString("battle_history_file") : null,
+            new BattleDetector(config.getInt("pass_through_combat", 0) == 1));
+    }
+
+    /**
+     * Observer constructor, fighting only enemies on the player's tile
+     * @param historyLimit - the number of battles kept in full, 0 to keep every battle
+     * @param summaryLimit - the number of older battles kept as summaries
+     * @param historyFile - the file older summaries are appended to, or null to let them go
+     * @throws IllegalArgumentException if a limit is negative
+     */
+    public Observer(int historyLimit, int summaryLimit, String historyFile) throws IllegalArgumentException {
+        this(historyLimit, summaryLimit, historyFile, new BattleDetector(false));
+    }
 
-        Entity player = entities.stream().filter(x -> x.getType().equals("player")).findFirst().get();
-        if (((Player)player).getStatus().equals("INVISIBLE")) {
-            return false;
+    /**
+     * Observer constructor
+     * @param historyLimit - the number of battles kept in full, 0 to keep every battle
+     * @param summaryLimit - the number of older battles kept as summaries
+     * @param historyFile - the file older summaries are appended to, or null to let them go
+     * @param detector - finds the enemies the player fights
+     * @throws IllegalArgumentException if a limit is negative
+     */
+    public Observer(int historyLimit, int summaryLimit, String historyFile, BattleDetector detector)
+            throws IllegalArgumentException {
+        if (historyLimit < 0 || summaryLimit < 0) {
+            throw new IllegalArgumentException("History limits cannot be negative");
         }
+        this.historyLimit = historyLimit;
+        this.summaryLimit = summaryLimit;
+        this.historyFile = historyFile;
+        this.detector = detector;
+    }
+
+    /**
+     * Checks battles between the Player and enemies on the Player's tile
+     * @param dungeon
+     * @return true if any battle was fought
+     */
+    public boolean checkBattle(DungeonManiaController dungeon) {
+        lastOpponents = detector.detect(dungeon.getRegistry());
+        Player player = dungeon.getRegistry().getPlayer();
+        for (DynamicEntity enemy : lastOpponents) {
+            record(new BattleRecord(enemy, player));
+        }
+        return !lastOpponents.isEmpty();
+    }
+
+    /**
+     * Gets detector
+     * @return the battle detector, which enemies report their moves to
+     */
+    public BattleDetector getDetector() {
+        return detector;
+    }
 
-        Position playerPos = player.getPosition();
-        int numBattles = battleRecords.size();  
-        entities.stream().filter(x -> x instanceof DynamicEntity && !(x instanceof Player)).forEach(
-            e -> {
-                Position entityPosition = e.getPosition();
-                if (playerPos.equals(entityPosition)) {
-                    BattleRecord newBattle = new BattleRecord((DynamicEntity)e, (DynamicEntity)player);
-                    battleRecords.add(newBattle);
-                }
+    /**
+     * Gets last opponents
+     * @return the enemies fought in the last check, the only entities a battle can have killed besides the player
+     */
+    public List<DynamicEntity> getLastOpponents() {
+        return lastOpponents == null ? List.of() : lastOpponents;
+    }
+
+    /**
+     * Adds a battle to the history, summarising or letting go of the oldest ones if it is bounded
+     * @param battle
+     */
+    void record(BattleRecord battle) {
+        if (historyLimit == 0) {
+            // converted before the battle is added, or converting the history for the first time would count it twice
+            getResponses().add(battle.toBattleResponse());
+        }
+        battleRecords.addLast(battle);
+        battleCount++;
+        if (historyLimit == 0) {
+            return;
+        }
+        boolean converted = summaryResponses != null;
+        if (converted) {
+            recordResponses.addLast(battle.toBattleResponse());
+        }
+        while (battleRecords.size() > historyLimit) {
+            BattleSummary summary = new BattleSummary(battleRecords.removeFirst());
+            summaries.addLast(summary);
+            if (converted) {
+                recordResponses.removeFirst();
+                summaryResponses.addLast(summary.toBattleResponse());
+            }
+        }
+        while (summaries.size() > summaryLimit) {
+            spill(summaries.removeFirst());
+            if (converted) {
+                summaryResponses.removeFirst();
             }
-        );
-        if (numBattles == battleRecords.size()) {
-            return false;
-        } else {
-            return true;
+        }
+    }
+
+    /**
+     * Appends a summary to the history file, if there is one
+     * @param summary
+     */
+    private void spill(BattleSummary summary) {
+        if (historyFile == null) {
+            return;
+        }
+        try {
+            Files.writeString(Path.of(historyFile), summary.toJSON().toString() + System.lineSeparator(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            e.printStackTrace();
         }
     }
 
@@ -63,9 +185,90 @@ public class Observer implements Serializable {
 
     /**
      * Gets battle records
-     * @return records of battles
+     * @return read-only records of the battles kept in full, oldest first
      */
     public List<BattleRecord> getBattleRecords() {
-        return battleRecords;
-    }  
+        return List.copyOf(battleRecords);
+    }
+
+    /**
+     * Gets battle count
+     * @return the number of battles fought, kept or not
+     */
+    public int getBattleCount() {
+        return battleCount;
+    }
+
+    /**
+     * Gets the first battle kept
+     * @return the number of battles let go, i.e. the index of the oldest battle still kept
+     */
+    public int getFirstKept() {
+        return battleCount - summaries.size() - battleRecords.size();
+    }
+
+    /**
+     * Gets summaries
+     * @return read-only summaries of the older battles kept, oldest first
+     */
+    public List<BattleSummary> getSummaries() {
+        return List.copyOf(summaries);
+    }
+
+    /**
+     * Gets battle responses
+     * @return read-only responses of every battle kept, which later battles do not change.
+     *      Summarised battles have no rounds
+     */
+    public List<BattleResponse> getBattleResponses() {
+        return getBattleResponses(0);
+    }
+
+    /**
+     * Gets the battle responses from an index on
+     * @param since - the number of battles already seen
+     * @return read-only responses of the battles kept after the first since, which later battles do not change
+     * @throws IllegalArgumentException if since is negative
+     */
+    public List<BattleResponse> getBattleResponses(int since) throws IllegalArgumentException {
+        if (since < 0) {
+            throw new IllegalArgumentException("since cannot be negative");
+        }
+        if (historyLimit == 0) {
+            AppendOnlyList<BattleResponse> responses = getResponses();
+            return responses.snapshot(Math.min(since, responses.size()));
+        }
+        if (summaryResponses == null) {
+            summaryResponses = new ArrayDeque<>(summaries.size());
+            summaries.forEach(summary -> summaryResponses.add(summary.toBattleResponse()));
+            recordResponses = new ArrayDeque<>(battleRecords.size());
+            battleRecords.forEach(record -> recordResponses.add(record.toBattleResponse()));
+        }
+        // the bounded history is small, so the kept responses are copied rather than shared
+        int skip = Math.max(since - getFirstKept(), 0);
+        List<BattleResponse> responses = new ArrayList<>(summaryResponses.size() + recordResponses.size());
+        for (BattleResponse response : summaryResponses) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                responses.add(response);
+            }
+        }
+        for (BattleResponse response : recordResponses) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                responses.add(response);
+            }
+        }
+        return Collections.unmodifiableList(responses);
+    }
+
+    private AppendOnlyList<BattleResponse> getResponses() {
+        if (battleResponses == null) {
+            battleResponses = new AppendOnlyList<>();
+            battleRecords.forEach(record -> battleResponses.add(record.toBattleResponse()));
+        }
+        return battleResponses;
+    }
 }
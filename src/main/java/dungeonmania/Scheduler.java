@@ -0,0 +1,120 @@
+package dungeonmania;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Active set of the entities that have work to do, so idle entities cost nothing per tick.
+ *      - An entity is woken by an event it is interested in, e.g. an enemy stepping onto a swamp tile (occupancy),
+ *          a boulder activating a floor switch, or a bomb placed next to a switch (proximity).
+ *      - An entity can instead ask to be woken after a number of ticks (timer), e.g. a zombie toast spawner.
+ *      - Tick systems only visit the awake entities of their kind, in the order they were added to the dungeon,
+ *          and put them back to sleep when they are done.
+ *      - The clock counts movement ticks, the only ticks spawners run in.
+ */
+public class Scheduler implements Serializable {
+    // keyed by index order, so awake entities are visited in dungeon order
+    private final TreeMap<Long, Entity> awake = new TreeMap<>();
+    private final TreeMap<Long, List<Entity>> timers = new TreeMap<>();
+    private long now = 0;
+
+    /**
+     * Adds an entity to the active set
+     * @param entity
+     */
+    public void wake(Entity entity) {
+        if (entity.getScheduler() == this) {
+            awake.put(entity.getIndexOrder(), entity);
+        }
+    }
+
+    /**
+     * Wakes an entity once a number of ticks have passed
+     * @param entity
+     * @param ticks - at least 1
+     * @throws IllegalArgumentException if ticks is less than 1
+     */
+    public void wakeIn(Entity entity, int ticks) throws IllegalArgumentException {
+        if (ticks < 1) {
+            throw new IllegalArgumentException("Entities can only be woken in a later tick");
+        }
+        timers.computeIfAbsent(now + ticks, t -> new ArrayList<>(1)).add(entity);
+    }
+
+    /**
+     * Removes an entity from the active set. Its timers still wake it
+     * @param entity
+     */
+    public void sleep(Entity entity) {
+        awake.remove(entity.getIndexOrder(), entity);
+    }
+
+    /**
+     * Checks for awake entities of a kind
+     * @param kind
+     * @return true if any entity of kind is awake
+     */
+    public boolean hasAwake(Class<? extends Entity> kind) {
+        for (Entity entity : awake.values()) {
+            if (kind.isInstance(entity)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the awake entities of a kind
+     * @param <T>
+     * @param kind
+     * @return a snapshot of the awake entities of kind, in the order they were added to the dungeon
+     */
+    public <T extends Entity> List<T> getAwake(Class<T> kind) {
+        List<T> result = new ArrayList<>();
+        for (Entity entity : awake.values()) {
+            if (kind.isInstance(entity)) {
+                result.add(kind.cast(entity));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if an entity is awake
+     * @param entity
+     * @return true if the entity is in the active set
+     */
+    public boolean isAwake(Entity entity) {
+        return awake.get(entity.getIndexOrder()) == entity;
+    }
+
+    /**
+     * Advances the clock by one tick, waking the entities whose timers are due
+     */
+    public void advance() {
+        now++;
+        while (!timers.isEmpty() && timers.firstKey() <= now) {
+            Map.Entry<Long, List<Entity>> due = timers.pollFirstEntry();
+            due.getValue().forEach(this::wake);
+        }
+    }
+
+    /**
+     * Gets now
+     * @return the number of ticks the clock has advanced
+     */
+    public long getNow() {
+        return now;
+    }
+
+    /**
+     * Forgets an entity that left the dungeon. Timers of removed entities are dropped when they fall due
+     * @param entity
+     */
+    void remove(Entity entity) {
+        sleep(entity);
+    }
+}
@@ -33,6 +33,16 @@ public class SerializableJSONObject extends HashMap<String, Object> {
         return Integer.parseInt(String.valueOf(get(key)));
     }
     
+    /**
+     * get an integer by key, for optional keys
+     * @param key
+     * @param defaultValue
+     * @return integer, or defaultValue if the key is missing
+     */
+    public int getInt(String key, int defaultValue) {
+        return containsKey(key) ? getInt(key) : defaultValue;
+    }
+
     /**
      * get an double by key 
      * @param key
@@ -0,0 +1,140 @@
+package dungeonmania;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import dungeonmania.util.LongMap;
+import dungeonmania.util.Position;
+
+/**
+ * Position to occupants index over all entities in the dungeon.
+ *      - Kept in sync by Entity.setPosition, and by the dungeon when entities are added or removed.
+ *      - Occupants of a tile are kept in the same relative order as the dungeon's entity list, so a
+ *          tile lookup returns exactly what filtering the whole entity list by position would.
+ *      - Tiles are keyed by Position.pack, so lookups neither allocate nor box. A tile keeps its (possibly empty)
+ *          occupant list once created, so entities moving back and forth do not allocate.
+ *      - Feeds the dense TileMap, refreshing a tile whenever terrain enters, leaves or changes on it.
+ */
+public class SpatialIndex implements Serializable {
+    private final LongMap<List<Entity>> tiles = new LongMap<>();
+    private final TileMap tileMap = new TileMap();
+    private long nextOrder = 0;
+
+    /**
+     * Adds an entity to the index at its current position
+     * @param entity
+     */
+    public void add(Entity entity) {
+        entity.setSpatialIndex(this);
+        entity.setIndexOrder(nextOrder++);
+        insert(entity, entity.getPosition());
+    }
+
+    /**
+     * Removes an entity from the index
+     * @param entity
+     */
+    public void remove(Entity entity) {
+        if (entity.getSpatialIndex() != this) {
+            return;
+        }
+        erase(entity, entity.getPosition());
+        entity.setSpatialIndex(null);
+    }
+
+    /**
+     * Moves an entity between tiles, called whenever an indexed entity changes position
+     * @param entity
+     * @param from
+     * @param to
+     */
+    void move(Entity entity, Position from, Position to) {
+        if (from != null && from.equals(to)) {
+            return;
+        }
+        erase(entity, from);
+        insert(entity, to);
+    }
+
+    /**
+     * Recomputes the terrain of a tile, called when an occupant's tile flags or move cost change
+     * @param position
+     */
+    void refresh(Position position) {
+        tileMap.refresh(position, tiles.getOrDefault(position.pack(), Collections.emptyList()));
+    }
+
+    /**
+     * Gets the tile map
+     * @return the dense terrain map of the indexed entities
+     */
+    public TileMap getTileMap() {
+        return tileMap;
+    }
+
+    /**
+     * Copies the entities on a tile into a list, for callers that reuse one buffer
+     * @param position
+     * @param into - cleared, then filled with the occupants of the tile in entity list order
+     */
+    public void getEntitiesAt(Position position, List<Entity> into) {
+        into.clear();
+        List<Entity> occupants = tiles.get(position.pack());
+        if (occupants != null) {
+            // not addAll, which copies through a temporary array
+            for (int i = 0; i < occupants.size(); i++) {
+                into.add(occupants.get(i));
+            }
+        }
+    }
+
+    /**
+     * Gets all entities on a tile
+     * @param position
+     * @return a snapshot of the occupants of the tile, in entity list order
+     */
+    public List<Entity> getEntitiesAt(Position position) {
+        List<Entity> occupants = tiles.get(position.pack());
+        if (occupants == null || occupants.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(occupants);
+    }
+
+    private void insert(Entity entity, Position position) {
+        if (position == null) {
+            return;
+        }
+        List<Entity> occupants = tiles.computeIfAbsent(position.pack(), p -> new ArrayList<>(2));
+        int i = occupants.size();
+        while (i > 0 && occupants.get(i - 1).getIndexOrder() > entity.getIndexOrder()) {
+            i--;
+        }
+        occupants.add(i, entity);
+        if (isTerrain(entity)) {
+            tileMap.refresh(position, occupants);
+        } else {
+            tileMap.include(position);
+        }
+    }
+
+    private void erase(Entity entity, Position position) {
+        if (position == null) {
+            return;
+        }
+        List<Entity> occupants = tiles.get(position.pack());
+        if (occupants == null) {
+            return;
+        }
+        occupants.remove(entity);
+        if (isTerrain(entity)) {
+            tileMap.refresh(position, occupants);
+        }
+    }
+
+    private boolean isTerrain(Entity entity) {
+        return entity.getTileFlags() != 0 || entity.moveCost() != 0;
+    }
+}
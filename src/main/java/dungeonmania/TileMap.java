@@ -0,0 +1,345 @@
+package dungeonmania;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import dungeonmania.util.Position;
+
+/**
+ * Dense tile array of the dungeon's terrain, kept in sync by the SpatialIndex.
+ *      - Each tile packs a bitset of terrain flags in its low 16 bits and the swamp move cost above them.
+ *      - Enemy movement and pathfinding test passability with a single array read against a blocking mask.
+ *      - The array grows (doubling) when an entity is placed outside of it, e.g. a wandering spider or zombie.
+ *      - Hands out one shared Position per tile, so movement can step onto a tile without allocating.
+ *      - The version increases whenever a tile or the search area changes, so derived data such as distance
+ *          fields can tell when they are stale. The most recent changes are journalled, so incremental planners
+ *          can repair just the tiles that changed.
+ *      - Counts the switch tiles, and those with a boulder on them, as tiles change, for the boulders goal.
+ */
+public class TileMap implements Serializable {
+    public static final int WALL = 1;
+    public static final int DOOR_CLOSED = 1 << 1;
+    public static final int BOULDER = 1 << 2;
+    public static final int SWAMP = 1 << 3;
+    public static final int PORTAL = 1 << 4;
+    public static final int SPAWNER = 1 << 5;
+    public static final int BOMB = 1 << 6;
+    public static final int SWITCH = 1 << 7;
+    public static final int EXIT = 1 << 8;
+
+    /** Tiles enemies other than spiders cannot move onto */
+    public static final int BLOCKS_WALKER = WALL | DOOR_CLOSED | BOULDER | SPAWNER | BOMB;
+    /** Tiles spiders cannot move onto */
+    public static final int BLOCKS_SPIDER = BOULDER | BOMB;
+
+    private static final int FLAG_BITS = 16;
+    private static final int FLAG_MASK = (1 << FLAG_BITS) - 1;
+
+    private static final int JOURNAL_SIZE = 256;
+    private static final long AREA_CHANGED = Long.MIN_VALUE;
+
+    // allocated area, (originX, originY) is tile 0
+    private int originX;
+    private int originY;
+    private int width = 0;
+    private int height = 0;
+    private int[] tiles = new int[0];
+    // shared Position of each tile, filled in on first use
+    private transient Position[] positions;
+
+    // search area, every tile that has been occupied (and the origin) plus a border of one
+    private int left = -1;
+    private int right = 1;
+    private int top = -1;
+    private int bottom = 1;
+
+    private int switches = 0;
+    private int coveredSwitches = 0;
+
+    private long version = 0;
+    // packed position of the change that produced each recent version, a ring buffer
+    private long[] journal = new long[JOURNAL_SIZE];
+
+    /**
+     * Gets the blocking mask of a moving entity
+     * @param mover
+     * @return the flags that stop mover from entering a tile
+     */
+    public static int blockingFlags(Entity mover) {
+        return mover.getType().equals("spider") ? BLOCKS_SPIDER : BLOCKS_WALKER;
+    }
+
+    /**
+     * Checks whether an entity can move onto a tile
+     * @param position
+     * @param mover
+     * @return true if nothing on the tile blocks mover
+     */
+    public boolean isPassable(Position position, Entity mover) {
+        return (getFlags(position.getX(), position.getY()) & blockingFlags(mover)) == 0;
+    }
+
+    /**
+     * Checks whether a tile can be moved onto
+     * @param x
+     * @param y
+     * @param blocking - the blocking mask of the mover, see blockingFlags
+     * @return true if none of the blocking flags are set on the tile
+     */
+    public boolean isPassable(int x, int y, int blocking) {
+        return (getFlags(x, y) & blocking) == 0;
+    }
+
+    /**
+     * Gets the Position of a tile. Positions are immutable, so tiles inside the map share one instance
+     * @param x
+     * @param y
+     * @return the shared Position of the tile, or a new one for tiles outside of the map
+     */
+    public Position positionAt(int x, int y) {
+        int i = index(x, y);
+        if (i < 0) {
+            return new Position(x, y);
+        }
+        if (positions == null || positions.length != tiles.length) {
+            positions = new Position[tiles.length];
+        }
+        Position position = positions[i];
+        if (position == null) {
+            position = new Position(x, y);
+            positions[i] = position;
+        }
+        return position;
+    }
+
+    /**
+     * Builds the shared Position of every tile in the map, so later positionAt calls only read the cache
+     * and can be made from several threads at once
+     */
+    public void prepare() {
+        if (positions == null || positions.length != tiles.length) {
+            positions = new Position[tiles.length];
+        }
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] == null) {
+                positions[i] = new Position(originX + i % width, originY + i / width);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a tile has any of the given flags
+     * @param position
+     * @param flags
+     * @return true if any flag is set on the tile
+     */
+    public boolean hasFlag(Position position, int flags) {
+        return (getFlags(position.getX(), position.getY()) & flags) != 0;
+    }
+
+    /**
+     * Gets the terrain flags of a tile
+     * @param x
+     * @param y
+     * @return the flags, 0 for tiles outside of the map
+     */
+    public int getFlags(int x, int y) {
+        int i = index(x, y);
+        return i < 0 ? 0 : tiles[i] & FLAG_MASK;
+    }
+
+    /**
+     * Gets the number of additional moves it takes to cross a tile
+     * @param x
+     * @param y
+     * @return the move cost, 0 for tiles outside of the map
+     */
+    public int getMoveCost(int x, int y) {
+        int i = index(x, y);
+        return i < 0 ? 0 : tiles[i] >>> FLAG_BITS;
+    }
+
+    /**
+     * Checks whether a tile is inside the search area
+     * @param x
+     * @param y
+     * @return true if in bounds
+     */
+    public boolean inBounds(int x, int y) {
+        return x >= left && x <= right && y >= top && y <= bottom;
+    }
+
+    /**
+     * Gets switch count
+     * @return the number of tiles with a floor switch
+     */
+    public int getSwitchCount() {
+        return switches;
+    }
+
+    /**
+     * Gets covered switch count
+     * @return the number of tiles with both a floor switch and a boulder
+     */
+    public int getCoveredSwitchCount() {
+        return coveredSwitches;
+    }
+
+    /**
+     * Gets version
+     * @return a number that changes whenever any tile or the search area changes
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the tiles that changed after a version
+     * @param since - a version previously returned by getVersion
+     * @return the changed tiles (possibly repeated), or null if they are no longer journalled or the search area
+     *          changed, in which case anything derived from the map must be rebuilt
+     */
+    public List<Position> getChangesSince(long since) {
+        if (since > version || version - since > JOURNAL_SIZE) {
+            return null;
+        }
+        if (since == version) {
+            return Collections.emptyList();
+        }
+        List<Position> changes = new ArrayList<>();
+        for (long v = since + 1; v <= version; v++) {
+            long change = journal[(int) (v % JOURNAL_SIZE)];
+            if (change == AREA_CHANGED) {
+                return null;
+            }
+            changes.add(Position.unpack(change));
+        }
+        return changes;
+    }
+
+    /**
+     * Gets left
+     * @return the leftmost x of the search area
+     */
+    public int getLeft() {
+        return left;
+    }
+
+    /**
+     * Gets right
+     * @return the rightmost x of the search area
+     */
+    public int getRight() {
+        return right;
+    }
+
+    /**
+     * Gets top
+     * @return the topmost y of the search area
+     */
+    public int getTop() {
+        return top;
+    }
+
+    /**
+     * Gets bottom
+     * @return the bottommost y of the search area
+     */
+    public int getBottom() {
+        return bottom;
+    }
+
+    /**
+     * Grows the search area (and the array if needed) to include a tile
+     * @param position
+     */
+    void include(Position position) {
+        int x = position.getX();
+        int y = position.getY();
+        if (inBounds(x - 1, y - 1) && inBounds(x + 1, y + 1) && width > 0) {
+            return;
+        }
+        left = Math.min(left, x - 1);
+        right = Math.max(right, x + 1);
+        top = Math.min(top, y - 1);
+        bottom = Math.max(bottom, y + 1);
+        record(AREA_CHANGED);
+        ensureCapacity();
+    }
+
+    /**
+     * Recomputes a tile from its occupants
+     * @param position
+     * @param occupants
+     */
+    void refresh(Position position, List<Entity> occupants) {
+        include(position);
+        int flags = 0;
+        int moveCost = 0;
+        for (Entity occupant : occupants) {
+            flags |= occupant.getTileFlags();
+            moveCost = Math.max(moveCost, occupant.moveCost());
+        }
+        int i = index(position.getX(), position.getY());
+        int tile = flags | (moveCost << FLAG_BITS);
+        if (tiles[i] != tile) {
+            switches += isSwitch(tile) - isSwitch(tiles[i]);
+            coveredSwitches += isCoveredSwitch(tile) - isCoveredSwitch(tiles[i]);
+            tiles[i] = tile;
+            record(position.pack());
+        }
+    }
+
+    private static int isSwitch(int tile) {
+        return (tile & SWITCH) != 0 ? 1 : 0;
+    }
+
+    private static int isCoveredSwitch(int tile) {
+        return (tile & (SWITCH | BOULDER)) == (SWITCH | BOULDER) ? 1 : 0;
+    }
+
+    private void record(long change) {
+        version++;
+        journal[(int) (version % JOURNAL_SIZE)] = change;
+    }
+
+    private int index(int x, int y) {
+        int dx = x - originX;
+        int dy = y - originY;
+        if (dx < 0 || dy < 0 || dx >= width || dy >= height) {
+            return -1;
+        }
+        return dy * width + dx;
+    }
+
+    private void ensureCapacity() {
+        if (left >= originX && top >= originY && right < originX + width && bottom < originY + height) {
+            return;
+        }
+        // grow by half of the current size on every side, so repeated growth is amortised
+        int newOriginX = Math.min(left, originX - width / 2);
+        int newOriginY = Math.min(top, originY - height / 2);
+        int newWidth = Math.max(right, originX + width - 1 + width / 2) - newOriginX + 1;
+        int newHeight = Math.max(bottom, originY + height - 1 + height / 2) - newOriginY + 1;
+        if (width == 0) {
+            newOriginX = left;
+            newOriginY = top;
+            newWidth = right - left + 1;
+            newHeight = bottom - top + 1;
+        }
+
+        int[] grown = new int[newWidth * newHeight];
+        for (int dy = 0; dy < height; dy++) {
+            int to = (originY + dy - newOriginY) * newWidth + (originX - newOriginX);
+            System.arraycopy(tiles, dy * width, grown, to, width);
+        }
+        tiles = grown;
+        positions = null;
+        originX = newOriginX;
+        originY = newOriginY;
+        width = newWidth;
+        height = newHeight;
+    }
+}
@@ -1,8 +1,4 @@
 package dungeonmania.collectible;
-import java.util.Arrays;
-import java.util.List;
-
-import dungeonmania.Inventory;
 import dungeonmania.SerializableJSONObject;
 
 public class Bow extends Buildable {
@@ -16,15 +12,4 @@ public class Bow extends Buildable {
         super(id, "bow");
         this.durability = config.getInt("bow_durability");
     }
-
-    public static boolean checkMaterials(Inventory i) {
-        if (i.getNoItemType("wood") < 1 || i.getNoItemType("arrow") < 3) {
-            return false;
-        }
-        return true;
-    }
-
-    public static List<String> requirements() {
-        return Arrays.asList("wood", "arrow", "arrow", "arrow");
-    }
 }
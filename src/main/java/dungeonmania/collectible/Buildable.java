@@ -1,10 +1,20 @@
 package dungeonmania.collectible;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.function.BiFunction;
 
-import dungeonmania.Inventory;
+import dungeonmania.SerializableJSONObject;
+import dungeonmania.exceptions.InvalidActionException;
 
 public abstract class Buildable implements Serializable {
+	// makes each kind of buildable item from its id and the config, for the recipes in /recipes.json
+	private static final Map<String, BiFunction<String, SerializableJSONObject, Buildable>> FACTORIES = Map.of(
+		"bow", Bow::new,
+		"shield", Shield::new,
+		"sceptre", Sceptre::new,
+		"midnight_armour", MidnightArmour::new);
+
 	private final String id;
 	private String type;
 	public int durability;
@@ -20,6 +30,22 @@ public abstract class Buildable implements Serializable {
 		this.type = type;
 	}
 
+	/**
+	 * Makes a buildable item
+	 * @param type - the item a recipe makes
+	 * @param id
+	 * @param config
+	 * @return the new item
+	 * @throws InvalidActionException if no item of that type can be made
+	 */
+	public static Buildable create(String type, String id, SerializableJSONObject config) throws InvalidActionException {
+		BiFunction<String, SerializableJSONObject, Buildable> factory = FACTORIES.get(type);
+		if (factory == null) {
+			throw new InvalidActionException("No way to make " + type);
+		}
+		return factory.apply(id, config);
+	}
+
 	/**
 	 * @return the id
 	 */
@@ -75,10 +101,4 @@ public abstract class Buildable implements Serializable {
     public int getDuration() {
         return duration;
     }
-
-	static boolean checkMaterials(Inventory i) {
-		return true;
-	}
-
-	static void buildItem(Inventory i) {};
 }
@@ -1,8 +1,4 @@
 package dungeonmania.collectible;
-import java.util.Arrays;
-import java.util.List;
-
-import dungeonmania.Inventory;
 import dungeonmania.SerializableJSONObject;
 
 public class MidnightArmour extends Buildable{
@@ -21,17 +17,6 @@ public class MidnightArmour extends Buildable{
         this.durability = (int) Double.POSITIVE_INFINITY;
 
     }
-    
-    public static boolean checkMaterials(Inventory i) {
-        if (i.getNoItemType("sword") < 1 || (i.getNoItemType("sun_stone") < 1)) {
-            return false;
-        }
-        return true;
-    }
-
-    public static List<String> requirements() {
-        return Arrays.asList("sword", "sun_stone");
-    }
 
     public double getAttack() {
         return attack;
@@ -1,8 +1,4 @@
 package dungeonmania.collectible;
-import java.util.Arrays;
-import java.util.List;
-
-import dungeonmania.Inventory;
 import dungeonmania.SerializableJSONObject;
 
 public class Shield extends Buildable{
@@ -19,24 +15,7 @@ public class Shield extends Buildable{
         shieldDefense = config.getInt("shield_defence");
     }
 
-    public static boolean checkMaterials(Inventory i) {
-        if (i.getNoItemType("wood") < 2 || (i.getNoItemType("treasure") < 1 && i.getNoItemType("key") < 1 && i.getNoItemType("sun_stone") < 1)) {
-            return false;
-        }
-        return true;
-    }
 
-    public static List<String> requirements(Inventory i) {
-        List<String> list = Arrays.asList("wood", "wood");
-        if (i.getNoItemType("sun_stone") >= 1) {
-            list = Arrays.asList("wood", "wood");
-        } else if (i.getNoItemType("treasure") >= 1) {
-            list = Arrays.asList("wood", "wood", "treasure");
-        } else if (i.getNoItemType("key") >= 1) {
-            list = Arrays.asList("wood", "wood", "key");
-        }
-        return list;
-    }
 
     /**
      * Gets shield defence
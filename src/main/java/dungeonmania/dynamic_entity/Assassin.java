@@ -1,13 +1,13 @@
 package dungeonmania.dynamic_entity;
 
-import java.util.List;
 import java.util.Random;
 
-import dungeonmania.Entity;
+import dungeonmania.DungeonManiaController;
 import dungeonmania.SerializableJSONObject;
 import dungeonmania.collectible.Sceptre;
 import dungeonmania.dynamic_entity.movement.ChaseMovement;
 import dungeonmania.dynamic_entity.movement.FollowMovement;
+import dungeonmania.dynamic_entity.movement.IncrementalChaseMovement;
 import dungeonmania.dynamic_entity.movement.Movement;
 import dungeonmania.dynamic_entity.movement.RandomMovement;
 import dungeonmania.dynamic_entity.movement.RunAwayMovement;
@@ -37,6 +37,7 @@ public class Assassin extends DynamicEntity{
     private int bribeAmount;
     private double bribeFailRate;
     private Movement move;
+    private Movement chase;
 
     /**
      * Assassin Constructor
@@ -52,6 +53,7 @@ public class Assassin extends DynamicEntity{
         this.bribeRadius = jsonConfig.getInt("bribe_radius");
         this.bribeAmount = jsonConfig.getInt("assassin_bribe_amount");
         this.bribeFailRate = jsonConfig.getDouble("assassin_bribe_fail_rate");
+        this.chase = jsonConfig.getInt("incremental_pathfinding", 0) == 1 ? new IncrementalChaseMovement() : ChaseMovement.INSTANCE;
     }
 
     /**
@@ -80,18 +82,13 @@ public class Assassin extends DynamicEntity{
     }
 
     /**
-     * Assassin interact, allows player to bribe Assassin
-     * Bribes have a certain chance of failing.
+     * Checks that the player can bribe, or mind control with a sceptre
      * @param player
+     * @throws InvalidActionException if the player is too far or has too few coins
      */
     @Override
-    public void interact (Player player) throws InvalidActionException {
-        // check sceptre
+    public void checkInteract(Player player) throws InvalidActionException {
         if (player.hasBuildableItem("sceptre")) {
-            Sceptre sceptre = (Sceptre) player.getInventory().getBuildableItem("sceptre");
-            sceptre.setisActive(true);
-            mindctrl = true;
-            status = "FRIENDLY";
             return;
         }
         // Check the radius
@@ -104,6 +101,24 @@ public class Assassin extends DynamicEntity{
         if (player.getCoins() < bribeAmount) {
             throw new InvalidActionException("Not enough coins");
         }
+    }
+
+    /**
+     * Assassin interact, allows player to bribe Assassin
+     * Bribes have a certain chance of failing.
+     * @param player
+     */
+    @Override
+    public void interact (Player player) throws InvalidActionException {
+        // check sceptre
+        if (player.hasBuildableItem("sceptre")) {
+            Sceptre sceptre = (Sceptre) player.getInventory().getBuildableItem("sceptre");
+            sceptre.setisActive(true);
+            mindctrl = true;
+            status = "FRIENDLY";
+            return;
+        }
+        checkInteract(player);
         // Checks probability that bribe will fail:
         double random = new Random().nextDouble();
         if (random < bribeFailRate) {
@@ -123,34 +138,36 @@ public class Assassin extends DynamicEntity{
     }
 
     /**
-     * Updates position
+     * Plans position
      * @param d
-     * @param l
+     * @param dungeon
+     * @return the next position
      */
     @Override
-    public void updatePos(Direction d, List<Entity> l) {
+    public Position planPos(Direction d, DungeonManiaController dungeon) {
         if (status.equals("HOSTILE")) {
-            Player p = (Player)l.stream().filter(x -> x instanceof Player).findFirst().orElse(null);
+            Player p = dungeon.getRegistry().getPlayer();
             if (p.getStatus().equals("INVISIBLE")) {
                 // Check for Radius
                 // If player is within Recon Radius, Assassin will still chase after it
-                Position distance = Position.calculatePositionBetween(p.getPosition(), this.getPosition());
-                double radius = Math.sqrt(Math.pow(distance.getX(), 2) + Math.pow(distance.getY(), 2));
+                int dx = getPosition().getX() - p.getPosition().getX();
+                int dy = getPosition().getY() - p.getPosition().getY();
+                double radius = Math.sqrt(dx * dx + dy * dy);
                 if (radius > reconRadius) {
-                    move = new RandomMovement();
+                    move = RandomMovement.INSTANCE;
                 } else {
-                    move = new ChaseMovement();
+                    move = chase;
                 }
             } else if (p.getStatus().equals("INVINCIBLE")) {
-                move = new RunAwayMovement();
+                move = RunAwayMovement.INSTANCE;
             } else {
-                move = new ChaseMovement();
+                move = chase;
             }
         // If they are Allies, Assassins will follow the Player
         } else {
-            move = new FollowMovement();
+            move = FollowMovement.INSTANCE;
         }
-        setPosition(move.getNextPosition(this, l));
+        return move.getNextPosition(this, dungeon);
     }
 
     public void setMindCtrl(boolean status) {
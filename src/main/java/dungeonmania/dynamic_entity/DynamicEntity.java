@@ -1,7 +1,8 @@
 package dungeonmania.dynamic_entity;
 
-import java.util.List;
+import java.util.Random;
 
+import dungeonmania.DungeonManiaController;
 import dungeonmania.Entity;
 import dungeonmania.util.Direction;
 import dungeonmania.util.Position;
@@ -10,9 +11,10 @@ import dungeonmania.util.Position;
  * Entities that move in dungeon.
  */
 public abstract class DynamicEntity extends Entity {
-    public abstract void updatePos(Direction d, List<Entity> l);
     public double health;
     public double attack;
+    // this entity's own random number stream, see DungeonManiaController.getRandom(DynamicEntity)
+    private Random random;
 
     public abstract String getType();
 
@@ -26,6 +28,43 @@ public abstract class DynamicEntity extends Entity {
         super(id, type, xy);
     }
 
+    /**
+     * Works out where the entity moves next, without moving it.
+     * May update the entity's own movement state, but only reads the rest of the dungeon,
+     * so enemies can plan their moves at the same time.
+     * @param d
+     * @param dungeon
+     * @return the next position, or the current one to stay
+     */
+    public Position planPos(Direction d, DungeonManiaController dungeon) {
+        return getPosition();
+    }
+
+    /**
+     * Updates position, moving to the planned position
+     * @param d
+     * @param dungeon
+     */
+    public void updatePos(Direction d, DungeonManiaController dungeon) {
+        setPosition(planPos(d, dungeon));
+    }
+
+    /**
+     * Gets random
+     * @return the entity's random number stream, or null if it has not been seeded yet
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Sets random
+     * @param random
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
     /**
      * Check for collision
      * @param entity
@@ -1,11 +1,8 @@
 package dungeonmania.dynamic_entity;
 
-import java.util.List;
 import java.util.Random;
 
-import org.json.JSONObject;
-
-import dungeonmania.Entity;
+import dungeonmania.DungeonManiaController;
 import dungeonmania.SerializableJSONObject;
 import dungeonmania.dynamic_entity.movement.Movement;
 import dungeonmania.dynamic_entity.movement.RandomMovement;
@@ -20,7 +17,7 @@ import dungeonmania.util.Position;
 public class Hydra extends DynamicEntity {
     private double healthIncreaseRate;
     private double healthIncreaseAmnt;
-    private final Movement move = new RandomMovement();
+    private final Movement move = RandomMovement.INSTANCE;
 
     /**
      * Hydra Constructor
@@ -37,12 +34,14 @@ public class Hydra extends DynamicEntity {
     }
 
     /**
-     * Updates Hydra Position
+     * Plans Hydra Position
      * @param d
-     * @param entities
+     * @param dungeon
+     * @return the next position
      */
-    public void updatePos(Direction d, List<Entity> entities) {
-        setPosition(move.getNextPosition(this, entities));
+    @Override
+    public Position planPos(Direction d, DungeonManiaController dungeon) {
+        return move.getNextPosition(this, dungeon);
     }
 
     /**
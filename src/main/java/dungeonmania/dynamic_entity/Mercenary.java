@@ -1,10 +1,8 @@
 package dungeonmania.dynamic_entity;
 
-import java.util.List;
-
+import dungeonmania.DungeonManiaController;
 import dungeonmania.SerializableJSONObject;
 import dungeonmania.dynamic_entity.movement.*;
-import dungeonmania.Entity;
 import dungeonmania.SerializableJSONObject;
 import dungeonmania.collectible.Buildable;
 import dungeonmania.collectible.Sceptre;
@@ -32,6 +30,7 @@ public class Mercenary extends DynamicEntity {
     private int bribeRadius;
     private int bribeAmount;
     private Movement move;
+    private Movement chase;
     /**
      * Mercenary Constrcutor
      * @param id
@@ -44,6 +43,7 @@ public class Mercenary extends DynamicEntity {
         this.health = config.getDouble("mercenary_health");
         this.bribeRadius = config.getInt("bribe_radius");
         this.bribeAmount = config.getInt("bribe_amount");
+        this.chase = config.getInt("incremental_pathfinding", 0) == 1 ? new IncrementalChaseMovement() : ChaseMovement.INSTANCE;
     }
     
     /**
@@ -55,17 +55,13 @@ public class Mercenary extends DynamicEntity {
     }
 
     /**
-     * Mercenary interact, allows player to bribe mercenary
+     * Checks that the player can bribe, or mind control with a sceptre
      * @param player
+     * @throws InvalidActionException if the player is too far or has too few coins
      */
     @Override
-    public void interact(Player player) throws InvalidActionException {
-        // check sceptre
+    public void checkInteract(Player player) throws InvalidActionException {
         if (player.hasBuildableItem("sceptre")) {
-            Sceptre sceptre = (Sceptre) player.getInventory().getBuildableItem("sceptre");
-            sceptre.setisActive(true);
-            mindctrl = true;
-            status = "FRIENDLY";
             return;
         }
         // check radius
@@ -78,6 +74,23 @@ public class Mercenary extends DynamicEntity {
         if (player.getCoins() < bribeAmount) {
             throw new InvalidActionException("Not enough coins");
         }
+    }
+
+    /**
+     * Mercenary interact, allows player to bribe mercenary
+     * @param player
+     */
+    @Override
+    public void interact(Player player) throws InvalidActionException {
+        // check sceptre
+        if (player.hasBuildableItem("sceptre")) {
+            Sceptre sceptre = (Sceptre) player.getInventory().getBuildableItem("sceptre");
+            sceptre.setisActive(true);
+            mindctrl = true;
+            status = "FRIENDLY";
+            return;
+        }
+        checkInteract(player);
         // set status to friendly 
         status = "FRIENDLY";
         // remove players coins
@@ -92,24 +105,26 @@ public class Mercenary extends DynamicEntity {
         return new EntityResponse(getId(), getType(), getPosition(), true);
     }
     /**
-     * Updates position
+     * Plans position
      * @param d
-     * @param l
+     * @param dungeon
+     * @return the next position
      */
-    public void updatePos(Direction d, List<Entity> l) {
+    @Override
+    public Position planPos(Direction d, DungeonManiaController dungeon) {
         if (status.equals("HOSTILE")) {
-            Player p = (Player)l.stream().filter(x -> x instanceof Player).findFirst().orElse(null);
+            Player p = dungeon.getRegistry().getPlayer();
             if (p.getStatus().equals("INVISIBLE")) {
-                move = new RandomMovement();
+                move = RandomMovement.INSTANCE;
             } else if (p.getStatus().equals("INVINCIBLE")) {
-                move = new RunAwayMovement();
+                move = RunAwayMovement.INSTANCE;
             } else {
-                move = new ChaseMovement();
+                move = chase;
             }
         } else {
-            move = new FollowMovement();
+            move = FollowMovement.INSTANCE;
         }
-        setPosition(move.getNextPosition(this, l));
+        return move.getNextPosition(this, dungeon);
     }
 
     /**
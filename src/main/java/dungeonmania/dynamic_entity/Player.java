@@ -3,8 +3,8 @@ package dungeonmania.dynamic_entity;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import dungeonmania.DungeonManiaController;
 import dungeonmania.Entity;
 import dungeonmania.collectible.Collectible;
 import dungeonmania.collectible.InvincibilityPotion;
@@ -24,6 +24,8 @@ public class Player extends DynamicEntity {
     private List<String> useableItems = Arrays.asList("bomb", "invincibility_potion", "invisibility_potion", null);
     private List<Collectible> potionQueue = new ArrayList<>();
     private String status = "NONE";
+    // reused for the occupants of the tile being moved onto
+    private transient List<Entity> collides;
 
     // Total treasure collected - not current treasure
     private int treasure_collected = 0;
@@ -63,27 +65,34 @@ public class Player extends DynamicEntity {
     /**
      * Updates the new position of Player given a direction
      * @param d
-     * @param l
+     * @param dungeon
      */
-    public void updatePos(Direction d, List<Entity> l) {
+    @Override
+    public void updatePos(Direction d, DungeonManiaController dungeon) {
         Position curr = this.getPosition();
-        Position nextPosition = curr.translateBy(d);
+        Position offset = d.getOffset();
+        Position nextPosition = dungeon.getTileMap().positionAt(curr.getX() + offset.getX(), curr.getY() + offset.getY());
         // Check next position for obstacles/issues
-        List <Entity> collides = l.stream().filter(entity -> entity.getPosition().equals(nextPosition)).collect(Collectors.toList());
-        if (collides.stream().anyMatch(entity -> !entity.collide(this))) {
-            return;
+        if (collides == null) {
+            collides = new ArrayList<>();
+        }
+        dungeon.getRegistry().getEntitiesAt(nextPosition, collides);
+        for (int i = 0; i < collides.size(); i++) {
+            if (!collides.get(i).collide(this)) {
+                collides.clear();
+                return;
+            }
         }
+        collides.clear();
         this.setPosition(nextPosition);
     }
 
     /**
-     * Picks up items
-     * @param entities
+     * Picks up items on the Player's tile
+     * @param dungeon
      */
-    public void pickUp(List<Entity> entities) {
-        List<Entity> toRemove = new ArrayList<>();
-        entities.stream()
-                .filter(entity -> this.getPosition().equals(entity.getPosition())) // same position
+    public void pickUp(DungeonManiaController dungeon) {
+        dungeon.getEntitiesAt(this.getPosition()).stream()
                 .filter(entity -> entity instanceof Collectible)
                 .forEach(collectible -> {
                     if (inventory.getNoItemType("key") > 0 && collectible instanceof Key) {
@@ -96,9 +105,8 @@ public class Player extends DynamicEntity {
                         treasure_collected++;
                     }
                     this.inventory.put(collectible, this);
-                    toRemove.add(collectible);
+                    dungeon.removeFromDungeon(collectible);
                 });
-        entities.removeAll(toRemove);
     }
 
     /**
@@ -2,10 +2,10 @@ package dungeonmania.dynamic_entity;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import dungeonmania.Entity;
+import dungeonmania.DungeonManiaController;
 import dungeonmania.SerializableJSONObject;
+import dungeonmania.TileMap;
 import dungeonmania.util.Direction;
 import dungeonmania.util.Position;
 
@@ -70,28 +70,27 @@ public class Spider extends DynamicEntity {
     }
     
     /**
-     * Updates Position
+     * Plans position
      * @param d
-     * @param l
+     * @param dungeon
+     * @return the next position
      */
-    public void updatePos(Direction d, List<Entity> l) {
+    @Override
+    public Position planPos(Direction d, DungeonManiaController dungeon) {
         // boulder
         // call change Direction
         if (cycleStart == false) {
             Position curr = this.getPosition();
-            Position nextPosition = new Position(curr.getX(), curr.getY() - 1);
             
-            List <Entity> listEntities = l.stream().filter(x -> x.getPosition().equals(nextPosition)).collect(Collectors.toList());
-            if (listEntities.stream().anyMatch(entity -> !entity.collide(this) && !entity.equals(null) == true)) {
-                return;
+            if (!dungeon.getTileMap().isPassable(curr.getX(), curr.getY() - 1, TileMap.BLOCKS_SPIDER)) {
+                return curr;
             }
             currentPosition = 0;
             cycleStart = true;
-            this.setPosition(cyclePositions.get(currentPosition));
-            return;
+            return cyclePositions.get(currentPosition);
         }
 
-        int result = checkCycle(l);
+        int result = checkCycle(dungeon);
         currentPosition += result;
 
         if (currentPosition > 7) {
@@ -99,7 +98,7 @@ public class Spider extends DynamicEntity {
         } else if (currentPosition < 0) {
             currentPosition = 7;
         }
-        this.setPosition(cyclePositions.get(currentPosition));
+        return cyclePositions.get(currentPosition);
     }
     
     /**
@@ -125,10 +124,10 @@ public class Spider extends DynamicEntity {
 
     /**
      * Checks for cycles
-     * @param l
+     * @param dungeon
      * @return
      */
-    private int checkCycle(List<Entity> l) {
+    private int checkCycle(DungeonManiaController dungeon) {
         int clockwiseIndex = currentPosition + 1;
         int anticlockwiseIndex = currentPosition -1;
         
@@ -143,13 +142,12 @@ public class Spider extends DynamicEntity {
         boolean clockwise = true;
         boolean anticlockwise = true;
          
-        List <Entity> listEntities1 = l.stream().filter(x -> x.getPosition().equals(checkClockwise)).collect(Collectors.toList());
-        List <Entity> listEntities2 = l.stream().filter(x -> x.getPosition().equals(checkAnticlockwise)).collect(Collectors.toList());
+        TileMap tileMap = dungeon.getTileMap();
 
-        if (listEntities1.stream().anyMatch(entity -> !entity.collide(this) && !entity.equals(null) == true)) {
+        if (!tileMap.isPassable(checkClockwise, this)) {
             clockwise = false;
         }
-        if (listEntities2.stream().anyMatch(entity -> !entity.collide(this) && !entity.equals(null) == true)) {
+        if (!tileMap.isPassable(checkAnticlockwise, this)) {
             anticlockwise = false;
         }
         if (direction.equals("clockwise")) {
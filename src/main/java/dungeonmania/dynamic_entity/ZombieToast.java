@@ -1,11 +1,9 @@
 package dungeonmania.dynamic_entity;
 
-import java.util.List;
-
 import dungeonmania.dynamic_entity.movement.Movement;
 import dungeonmania.dynamic_entity.movement.RandomMovement;
 
-import dungeonmania.Entity;
+import dungeonmania.DungeonManiaController;
 import dungeonmania.SerializableJSONObject;
 import dungeonmania.util.Direction;
 import dungeonmania.util.Position;
@@ -23,7 +21,7 @@ public class ZombieToast extends DynamicEntity {
      * @param xy
      * @param config
      */
-    private static Movement move = new RandomMovement();
+    private static final Movement move = RandomMovement.INSTANCE;
 
     public ZombieToast(String id, Position xy, SerializableJSONObject config) {
         super(id, "zombie_toast", xy);
@@ -45,13 +43,14 @@ public class ZombieToast extends DynamicEntity {
     }
     
     /**
-     * Updates Position
+     * Plans position
      * @param d
-     * @param l
+     * @param dungeon
+     * @return the next position
      */
-    public void updatePos(Direction d, List<Entity> l) {
-        Position nextPosition = move.getNextPosition(this, l);
-        this.setPosition(nextPosition);
+    @Override
+    public Position planPos(Direction d, DungeonManiaController dungeon) {
+        return move.getNextPosition(this, dungeon);
     }
 
     /**
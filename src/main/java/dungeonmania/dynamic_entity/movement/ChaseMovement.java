@@ -1,19 +1,28 @@
 package dungeonmania.dynamic_entity.movement;
 
+import dungeonmania.DungeonManiaController;
 import dungeonmania.Entity;
-import dungeonmania.dynamic_entity.Player;
+import dungeonmania.TileMap;
 import dungeonmania.util.Position;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
-
 public class ChaseMovement implements Movement {
+    public static final ChaseMovement INSTANCE = new ChaseMovement();
+
+    private ChaseMovement() {
+    }
+
+    /**
+     * Next step towards the player, read from the distance field shared by all chasers
+     * @param d - entity that wants to move
+     * @param dungeon - the dungeon the entity is in
+     * @return the next position on a shortest path to the player
+     */
     @Override
-    public Position getNextPosition(Entity d, List<Entity> l) {
-        Position playerPos = l.stream().filter(x -> x instanceof Player)
-                .map(Entity::getPosition)
-                .findFirst().orElse(null);
-        return ShortestPath.getNextPosition(d, playerPos, l);
+    public Position getNextPosition(Entity d, DungeonManiaController dungeon) {
+        return dungeon.getPlayerDistanceField(TileMap.blockingFlags(d)).getNextPosition(d.getPosition());
+    }
+
+    private Object readResolve() {
+        return INSTANCE;
     }
 }
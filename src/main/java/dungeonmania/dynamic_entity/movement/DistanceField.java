@@ -0,0 +1,106 @@
+package dungeonmania.dynamic_entity.movement;
+
+import dungeonmania.TileMap;
+import dungeonmania.util.Position;
+
+/**
+ * Cost of reaching a target from every tile of the TileMap, shared by all entities chasing that target.
+ *      - Built with a single backwards Dijkstra, after which each chaser picks its next step in O(1).
+ *      - Stays valid until the target moves or the terrain changes (TileMap version).
+ *      - One field per blocking mask, since spiders and walkers see different terrain.
+ */
+public class DistanceField {
+    private static final int[] DX = {-1, 1, 0, 0};
+    private static final int[] DY = {0, 0, -1, 1};
+
+    private final TileMap tileMap;
+    private final int blocking;
+    private Position target;
+    private long version;
+    private int left;
+    private int top;
+    private int width;
+    private int height;
+    private int[] dist = new int[0];
+
+    /**
+     * DistanceField Constructor
+     * @param tileMap
+     * @param blocking - the flags of tiles that cannot be moved onto
+     */
+    public DistanceField(TileMap tileMap, int blocking) {
+        this.tileMap = tileMap;
+        this.blocking = blocking;
+    }
+
+    /**
+     * Checks which terrain this field is for
+     * @param tileMap
+     * @return true if built over tileMap
+     */
+    public boolean isFor(TileMap tileMap) {
+        return this.tileMap == tileMap;
+    }
+
+    /**
+     * Recomputes the field if the target moved or the terrain changed since it was last built
+     * @param target
+     */
+    public void update(Position target) {
+        if (target.equals(this.target) && version == tileMap.getVersion()) {
+            return;
+        }
+        left = tileMap.getLeft();
+        top = tileMap.getTop();
+        width = tileMap.getRight() - left + 1;
+        height = tileMap.getBottom() - top + 1;
+        if (dist.length < width * height) {
+            dist = new int[width * height];
+        }
+        ShortestPath.fillDistances(tileMap, target, blocking, dist);
+        this.target = target;
+        this.version = tileMap.getVersion();
+    }
+
+    /**
+     * Gets the cost of reaching the target
+     * @param x
+     * @param y
+     * @return the cost, Integer.MAX_VALUE if unreachable
+     */
+    public int getDistance(int x, int y) {
+        int dx = x - left;
+        int dy = y - top;
+        if (dx < 0 || dy < 0 || dx >= width || dy >= height) {
+            return Integer.MAX_VALUE;
+        }
+        return dist[dy * width + dx];
+    }
+
+    /**
+     * Gets the first step on a shortest path to the target. Ties go to the first of left, right, up, down.
+     * @param source
+     * @return the next position, or source if the target cannot be reached
+     */
+    public Position getNextPosition(Position source) {
+        if (source.equals(target) || Position.isAdjacent(source, target)) {
+            return target;
+        }
+        Position best = source;
+        long bestCost = Long.MAX_VALUE;
+        for (int k = 0; k < 4; k++) {
+            int x = source.getX() + DX[k];
+            int y = source.getY() + DY[k];
+            int remaining = getDistance(x, y);
+            if (remaining == Integer.MAX_VALUE || (tileMap.getFlags(x, y) & blocking) != 0) {
+                continue;
+            }
+            long cost = 1L + tileMap.getMoveCost(x, y) + remaining;
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = tileMap.positionAt(x, y);
+            }
+        }
+        return best;
+    }
+}
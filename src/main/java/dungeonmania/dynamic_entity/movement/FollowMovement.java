@@ -1,14 +1,22 @@
 package dungeonmania.dynamic_entity.movement;
 
+import dungeonmania.DungeonManiaController;
 import dungeonmania.Entity;
 import dungeonmania.util.Position;
 
-import java.util.List;
-
 public class FollowMovement implements Movement {
+    public static final FollowMovement INSTANCE = new FollowMovement();
+
+    private FollowMovement() {
+    }
+
     // TODO
     @Override
-    public Position getNextPosition(Entity d, List<Entity> l) {
+    public Position getNextPosition(Entity d, DungeonManiaController dungeon) {
         return d.getPosition();
     }
+
+    private Object readResolve() {
+        return INSTANCE;
+    }
 }
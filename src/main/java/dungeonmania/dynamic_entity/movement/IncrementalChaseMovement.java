@@ -0,0 +1,320 @@
+package dungeonmania.dynamic_entity.movement;
+
+import dungeonmania.DungeonManiaController;
+import dungeonmania.Entity;
+import dungeonmania.TileMap;
+import dungeonmania.util.Position;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Chases the player with D* Lite, keeping its search between ticks while the player stays put.
+ *      - The search is rooted at the player, so the chaser moving only shifts the heuristic (km).
+ *      - Tiles changed by boulders, doors and bombs are read from the TileMap journal and only their
+ *          neighbourhood is repaired. A new search area or an overflowed journal starts the search over.
+ *      - A player move starts the search over as well. Every cost in the search is relative to the player's
+ *          tile, so repairing it after a move touches about the whole area between player and chaser, and
+ *          expands more tiles than a fresh search does. A search rooted at the chaser would have the same
+ *          problem, as chasers move every tick too.
+ *      - One instance per chaser. The search state is not saved, a loaded game rebuilds it on the first move.
+ * Produces shortest paths with the same costs as ChaseMovement, though equally short paths may be chosen differently.
+ */
+public class IncrementalChaseMovement implements Movement {
+    private static final int[] DX = {-1, 1, 0, 0};
+    private static final int[] DY = {0, 0, -1, 1};
+    private static final int INF = Integer.MAX_VALUE / 4;
+
+    private transient TileMap tileMap;
+    private transient int blocking;
+    private transient long version;
+    private transient int left;
+    private transient int top;
+    private transient int width;
+    private transient int height;
+    private transient int goal;
+    private transient int last;
+    private transient int km;
+    private transient int[] g;
+    private transient int[] rhs;
+    private transient IndexedHeap open;
+    private transient long expansions;
+
+    /**
+     * Next step towards the player, repairing the previous search first
+     * @param d - entity that wants to move
+     * @param dungeon - the dungeon the entity is in
+     * @return the next position on a shortest path to the player
+     */
+    @Override
+    public Position getNextPosition(Entity d, DungeonManiaController dungeon) {
+        Position source = d.getPosition();
+        Position target = dungeon.getPlayer().getPosition();
+        if (source.equals(target) || Position.isAdjacent(source, target)) {
+            return target;
+        }
+        TileMap map = dungeon.getTileMap();
+        if (!map.inBounds(source.getX(), source.getY()) || !map.inBounds(target.getX(), target.getY())) {
+            return source;
+        }
+        int start = replan(map, TileMap.blockingFlags(d), source, target);
+
+        int sx = start % width;
+        int sy = start / width;
+        Position best = source;
+        long bestCost = INF;
+        for (int k = 0; k < 4; k++) {
+            int vx = sx + DX[k];
+            int vy = sy + DY[k];
+            if (!isPassable(vx, vy)) {
+                continue;
+            }
+            long cost = (long) enterCost(vx, vy) + g[vy * width + vx];
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = map.positionAt(left + vx, top + vy);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets expansions
+     * @return the number of tiles taken off the open list by this chaser's searches, since it was made or loaded
+     */
+    public long getExpansions() {
+        return expansions;
+    }
+
+    /**
+     * Brings the search up to date with the terrain, the player and the chaser
+     * @return the chaser's tile
+     */
+    private int replan(TileMap map, int mask, Position source, Position target) {
+        List<Position> changes = (map == tileMap && mask == blocking && g != null) ? map.getChangesSince(version) : null;
+        // the search is rooted at the player, so every cost in it is relative to the player's old tile
+        if (changes == null || tile(target) != goal) {
+            reset(map, mask, source, target);
+            changes = null;
+        }
+        version = map.getVersion();
+        int start = tile(source);
+        km += distance(last, start);
+        last = start;
+
+        if (changes != null) {
+            for (Position change : changes) {
+                int changed = tile(change);
+                // a tile's cost is paid by whoever moves onto it, i.e. its neighbours
+                updateNeighbours(changed);
+            }
+        }
+        computeShortestPath(start);
+        return start;
+    }
+
+    private void reset(TileMap map, int mask, Position source, Position target) {
+        tileMap = map;
+        blocking = mask;
+        left = map.getLeft();
+        top = map.getTop();
+        width = map.getRight() - left + 1;
+        height = map.getBottom() - top + 1;
+        int size = width * height;
+        if (g == null || g.length < size) {
+            g = new int[size];
+            rhs = new int[size];
+            open = new IndexedHeap(size);
+        }
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        open.clear();
+        km = 0;
+        goal = tile(target);
+        last = tile(source);
+        rhs[goal] = 0;
+        open.put(goal, key(goal, last));
+    }
+
+    private void computeShortestPath(int start) {
+        while (!open.isEmpty() && (open.peekKey() < key(start, start) || rhs[start] != g[start])) {
+            long oldKey = open.peekKey();
+            int u = open.pop();
+            expansions++;
+            long newKey = key(u, start);
+            if (oldKey < newKey) {
+                open.put(u, newKey);
+            } else if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+                updateNeighbours(u);
+            } else {
+                g[u] = INF;
+                updateVertex(u);
+                updateNeighbours(u);
+            }
+        }
+    }
+
+    private void updateNeighbours(int u) {
+        int ux = u % width;
+        int uy = u / width;
+        for (int k = 0; k < 4; k++) {
+            int vx = ux + DX[k];
+            int vy = uy + DY[k];
+            if (vx >= 0 && vy >= 0 && vx < width && vy < height) {
+                updateVertex(vy * width + vx);
+            }
+        }
+    }
+
+    private void updateVertex(int u) {
+        if (u != goal) {
+            int best = INF;
+            int ux = u % width;
+            int uy = u / width;
+            for (int k = 0; k < 4; k++) {
+                int vx = ux + DX[k];
+                int vy = uy + DY[k];
+                if (isPassable(vx, vy)) {
+                    best = Math.min(best, enterCost(vx, vy) + g[vy * width + vx]);
+                }
+            }
+            rhs[u] = Math.min(best, INF);
+        } else {
+            rhs[u] = 0;
+        }
+        open.remove(u);
+        if (g[u] != rhs[u]) {
+            open.put(u, key(u, last));
+        }
+    }
+
+    /**
+     * D* Lite key, (min(g, rhs) + h + km, min(g, rhs)) packed into a long
+     */
+    private long key(int u, int start) {
+        int m = Math.min(g[u], rhs[u]);
+        long first = Math.min((long) m + distance(start, u) + km, Integer.MAX_VALUE);
+        return (first << 32) | m;
+    }
+
+    private boolean isPassable(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height
+                && (tileMap.getFlags(left + x, top + y) & blocking) == 0;
+    }
+
+    private int enterCost(int x, int y) {
+        return 1 + tileMap.getMoveCost(left + x, top + y);
+    }
+
+    private int distance(int a, int b) {
+        return Math.abs(a % width - b % width) + Math.abs(a / width - b / width);
+    }
+
+    private int tile(Position position) {
+        return (position.getY() - top) * width + (position.getX() - left);
+    }
+
+    /**
+     * Binary min heap of tiles that supports removing and re-keying a tile
+     */
+    private static class IndexedHeap {
+        private final long[] keys;
+        private final int[] tiles;
+        private final int[] slot;
+        private int size = 0;
+
+        private IndexedHeap(int capacity) {
+            keys = new long[capacity];
+            tiles = new int[capacity];
+            slot = new int[capacity];
+            Arrays.fill(slot, -1);
+        }
+
+        private void clear() {
+            for (int i = 0; i < size; i++) {
+                slot[tiles[i]] = -1;
+            }
+            size = 0;
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private long peekKey() {
+            return keys[0];
+        }
+
+        private int pop() {
+            int tile = tiles[0];
+            remove(tile);
+            return tile;
+        }
+
+        private void put(int tile, long key) {
+            remove(tile);
+            int i = size++;
+            keys[i] = key;
+            tiles[i] = tile;
+            slot[tile] = i;
+            siftUp(i);
+        }
+
+        private void remove(int tile) {
+            int i = slot[tile];
+            if (i < 0) {
+                return;
+            }
+            slot[tile] = -1;
+            size--;
+            if (i == size) {
+                return;
+            }
+            keys[i] = keys[size];
+            tiles[i] = tiles[size];
+            slot[tiles[i]] = i;
+            siftDown(i);
+            siftUp(i);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= keys[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[i] <= keys[child]) {
+                    return;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long key = keys[a];
+            keys[a] = keys[b];
+            keys[b] = key;
+            int tile = tiles[a];
+            tiles[a] = tiles[b];
+            tiles[b] = tile;
+            slot[tiles[a]] = a;
+            slot[tiles[b]] = b;
+        }
+    }
+}
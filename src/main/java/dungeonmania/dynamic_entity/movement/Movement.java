@@ -1,17 +1,23 @@
 package dungeonmania.dynamic_entity.movement;
 
+import dungeonmania.DungeonManiaController;
 import dungeonmania.Entity;
 import dungeonmania.util.Position;
 
-import java.util.List;
+import java.io.Serializable;
 
-public interface Movement {
+/**
+ * Movement strategy of a dynamic entity. Strategies are saved with their entity, so keep any state that
+ * should not be saved transient.
+ */
+public interface Movement extends Serializable {
     /**
-     * Given an entity `d` and a reference to all entities, determine the next
+     * Given an entity `d` and the dungeon it is in, determine the next
      * position that `d` should occupy.
      * @param d - The subject entity. Never modified
-     * @param l - All entities. Never modified.
+     * @param dungeon - The dungeon, used for entity and tile lookups. Never modified.
+     *                  Stateful strategies may update their own state.
      * @return a non-null position
      */
-    Position getNextPosition(Entity d, List<Entity> l);
+    Position getNextPosition(Entity d, DungeonManiaController dungeon);
 }
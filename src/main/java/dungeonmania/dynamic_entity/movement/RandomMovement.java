@@ -1,42 +1,69 @@
 package dungeonmania.dynamic_entity.movement;
 
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 
+import dungeonmania.DungeonManiaController;
 import dungeonmania.Entity;
+import dungeonmania.TileMap;
+import dungeonmania.dynamic_entity.DynamicEntity;
 import dungeonmania.util.Direction;
 import dungeonmania.util.Position;
 
-public class RandomMovement implements Movement, Serializable {
+/**
+ * Moves to a random free neighbouring tile, using the entity's own random number generator.
+ * Stateless, so shared by every entity through INSTANCE.
+ */
+public class RandomMovement implements Movement {
+    public static final RandomMovement INSTANCE = new RandomMovement();
+
+    // the order directions are drawn from
+    private static final Direction[] DIRECTIONS = {Direction.DOWN, Direction.UP, Direction.LEFT, Direction.RIGHT};
+
+    private RandomMovement() {
+    }
+
     /**
      * Random posiiton
      * @param d - entity that wants to move
-     * @param l - all entities
+     * @param dungeon - the dungeon the entity is in
      * @return Valid new position. Does not return null.
      */
-    public Position getNextPosition(Entity d, List<Entity> l) {
+    public Position getNextPosition(Entity d, DungeonManiaController dungeon) {
         Position middle = d.getPosition();
-        List <Position> newPositions = new ArrayList<>(List.of(
-            middle.translateBy(Direction.DOWN),
-            middle.translateBy(Direction.UP),
-            middle.translateBy(Direction.LEFT),
-            middle.translateBy(Direction.RIGHT)));
+        TileMap tileMap = dungeon.getTileMap();
+        int blocking = TileMap.blockingFlags(d);
+        Random rand = d instanceof DynamicEntity ? dungeon.getRandom((DynamicEntity) d) : dungeon.getRandom();
 
+        // bit k is set while DIRECTIONS[k] has not been tried
+        int untried = (1 << DIRECTIONS.length) - 1;
         // Repeat until all directions are exhausted
-        while (newPositions.size() > 0) {
-            Random rand = new Random();
-            int result = rand.nextInt(newPositions.size());
-            Position nextPosition = newPositions.remove(result);
-            if (l.stream()
-                 .filter(e -> e.getPosition().equals(nextPosition))
-                 .noneMatch(entity -> !entity.collide(d))) 
-            {
-                return nextPosition;
+        for (int remaining = DIRECTIONS.length; remaining > 0; remaining--) {
+            int k = nthUntried(untried, rand.nextInt(remaining));
+            untried &= ~(1 << k);
+            Position offset = DIRECTIONS[k].getOffset();
+            int x = middle.getX() + offset.getX();
+            int y = middle.getY() + offset.getY();
+            if (tileMap.isPassable(x, y, blocking)) {
+                return tileMap.positionAt(x, y);
             }
         }
         // otherwise no change
         return middle;
     }
+
+    /**
+     * Gets the n-th untried direction, counting in DIRECTIONS order
+     */
+    private static int nthUntried(int untried, int n) {
+        for (int k = 0; k < DIRECTIONS.length; k++) {
+            if ((untried & (1 << k)) != 0 && n-- == 0) {
+                return k;
+            }
+        }
+        throw new IllegalArgumentException("No untried direction " + n);
+    }
+
+    private Object readResolve() {
+        return INSTANCE;
+    }
 }
@@ -1,17 +1,22 @@
 package dungeonmania.dynamic_entity.movement;
 
+import dungeonmania.DungeonManiaController;
 import dungeonmania.Entity;
-import dungeonmania.dynamic_entity.Player;
+import dungeonmania.TileMap;
 import dungeonmania.util.Position;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
-
+/**
+ * Steps away from the player, trying the horizontal direction first. Stateless, so shared through INSTANCE.
+ */
 public class RunAwayMovement implements Movement {
+    public static final RunAwayMovement INSTANCE = new RunAwayMovement();
+
+    private RunAwayMovement() {
+    }
+
     @Override
-    public Position getNextPosition(Entity d, List<Entity> l) {
-        Entity p = l.stream().filter(x -> x instanceof Player).findFirst().orElse(null);
+    public Position getNextPosition(Entity d, DungeonManiaController dungeon) {
+        Entity p = dungeon.getRegistry().getPlayer();
         Position playerPos = p.getPosition();
         int x1 = playerPos.getX();
         int y1 = playerPos.getY();
@@ -20,28 +25,26 @@ public class RunAwayMovement implements Movement {
         int x2 = current.getX();
         int y2 = current.getY();
 
-        List<Position> testPositions = new ArrayList<>();
+        TileMap tileMap = dungeon.getTileMap();
+        int blocking = TileMap.blockingFlags(d);
 
         // Find positions to use
-        if (x1 > x2) {
-            testPositions.add(new Position(x2 - 1, y2));
-        } else if (x2 > x1) {
-            testPositions.add(new Position(x2 + 1, y2));
-        }
-
-        if (y1 > y2) {
-            testPositions.add(new Position(x2, y2 - 1));
-        } else if (y2 > y1) {
-            testPositions.add(new Position(x2, y2 + 1));
+        if (x1 != x2) {
+            int x = x1 > x2 ? x2 - 1 : x2 + 1;
+            if (tileMap.isPassable(x, y2, blocking)) {
+                return tileMap.positionAt(x, y2);
+            }
         }
-        while (testPositions.size() > 0) {
-            Position possible = testPositions.remove(0);
-            if (l.stream()
-                .filter(entity -> entity.getPosition().equals(possible))
-                .allMatch(e -> e.collide(d))) {
-                return possible;
+        if (y1 != y2) {
+            int y = y1 > y2 ? y2 - 1 : y2 + 1;
+            if (tileMap.isPassable(x2, y, blocking)) {
+                return tileMap.positionAt(x2, y);
             }
         }
         return current;
     }
+
+    private Object readResolve() {
+        return INSTANCE;
+    }
 }
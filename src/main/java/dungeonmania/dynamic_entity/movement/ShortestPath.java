@@ -1,123 +1,70 @@
 package dungeonmania.dynamic_entity.movement;
 
-import dungeonmania.Entity;
-import dungeonmania.util.Direction;
+import dungeonmania.TileMap;
 import dungeonmania.util.Position;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
 
+/**
+ * Dijkstra's shortest path distances over the TileMap's search area, for the DistanceField.
+ *      - Tiles are addressed by int index, row major from the top left of the search area.
+ *      - Entering a tile costs 1 plus its move cost (swamp tiles).
+ *      - The heap is reused between searches, one per thread.
+ */
 public class ShortestPath {
-    public static Position getNextPosition(Entity start, Position dest, List<Entity> entities) {
-        Position source = start.getPosition();
-        if (source.equals(dest) || Position.isAdjacent(source, dest)) {
-            return dest;
-        }
-        Map<String, Integer> box = bounds(entities);
-
-        // default to infinity (Integer.MAX_VALUE)
-        Map<Position, Integer> dist = new HashMap<>();
-        dist.put(source, 0);
+    private static final int[] DX = {-1, 1, 0, 0};
+    private static final int[] DY = {0, 0, -1, 1};
 
-        // default to null
-        Map<Position, Position> prev = new HashMap<>();
+    private static final ThreadLocal<TileHeap> HEAP = ThreadLocal.withInitial(TileHeap::new);
 
-        Map<Position, List<Entity>> map = getMap(entities);
-
-        Set<Position> visited = new HashSet<>();
-        List<Position> queue = new ArrayList<>();
-        queue.add(source);
-        while (!queue.isEmpty()) {
-            Position u = queue.remove(0);
-            List<Position> adjacentPos = adjacent(u);
-            for (Position v: adjacentPos) {
-                boolean isValid = valid(map, start, v);
-                if (isValid && dist.get(u) + cost(map, v) < dist.getOrDefault(v, Integer.MAX_VALUE)) {
-                    dist.put(v, dist.get(u)+ cost(map, v));
-                    prev.put(v, u);
+    /**
+     * Fills in the cost of reaching root from every tile of the TileMap's search area, i.e. Dijkstra run backwards
+     * from root. A move costs 1 plus the move cost of the tile moved onto.
+     * @param tileMap - the terrain
+     * @param root - the tile to measure distances to
+     * @param blocking - the flags of tiles that cannot be moved onto
+     * @param dist - row major over the search area, at least its size. Unreachable tiles are set to Integer.MAX_VALUE
+     */
+    static void fillDistances(TileMap tileMap, Position root, int blocking, int[] dist) {
+        int left = tileMap.getLeft();
+        int top = tileMap.getTop();
+        int width = tileMap.getRight() - left + 1;
+        int height = tileMap.getBottom() - top + 1;
+        Arrays.fill(dist, 0, width * height, Integer.MAX_VALUE);
+        if (!tileMap.inBounds(root.getX(), root.getY())) {
+            return;
+        }
+        TileHeap heap = HEAP.get();
+        heap.clear();
+        int from = (root.getY() - top) * width + (root.getX() - left);
+        dist[from] = 0;
+        heap.push(from, 0);
+        while (!heap.isEmpty()) {
+            long entry = heap.pop();
+            int u = heap.tileOf(entry);
+            int du = TileHeap.distanceOf(entry);
+            if (du > dist[u]) {
+                continue;
+            }
+            int ux = u % width;
+            int uy = u / width;
+            // every neighbour moves onto u
+            int dv = du + 1 + tileMap.getMoveCost(left + ux, top + uy);
+            for (int k = 0; k < 4; k++) {
+                int vx = ux + DX[k];
+                int vy = uy + DY[k];
+                if (vx < 0 || vy < 0 || vx >= width || vy >= height) {
+                    continue;
                 }
-                if (isValid && inBounds(box, v) && !queue.contains(v) && !visited.contains(v)) {
-                    queue.add(v);
+                if ((tileMap.getFlags(left + vx, top + vy) & blocking) != 0) {
+                    continue;
+                }
+                int v = vy * width + vx;
+                if (dv < dist[v]) {
+                    dist[v] = dv;
+                    heap.push(v, dv);
                 }
             }
-            visited.add(u);
-        }
-        return traceBack(prev, source, dest);
-    }
-
-    private static Position traceBack(Map<Position, Position> prev, Position source, Position dest) {
-        Position curr = dest;
-        Position next = prev.getOrDefault(curr, null);
-        while (next != null && !next.equals(source)) {
-            curr = next;
-            next = prev.get(curr);
         }
-        return (next == null) ? source : curr;
-    }
-
-    /**
-     * Convert list of entities to hashmap of positions.
-     * Multiple entities can be present on one position, so get(...) returns a list
-     */
-    private static Map<Position, List<Entity>> getMap(List<Entity> entities) {
-        Map<Position, List<Entity>> map = new HashMap<>();
-        entities.forEach((e) -> {
-            Position xy = e.getPosition();
-            map.putIfAbsent(xy, new ArrayList<>());
-            map.get(xy).add(e);
-        });
-        return map;
-    }
-
-    private static boolean inBounds(Map<String, Integer> bounds, Position xy) {
-        return  (xy.getX() <= bounds.get("right") && xy.getX() >= bounds.get("left")) &&
-                (xy.getY() <= bounds.get("bottom") && xy.getY() >= bounds.get("top"));
-    }
-
-    /** 
-     * returns true if no collision
-     */
-    private static boolean valid(Map<Position, List<Entity>> map, Entity entity, Position xy) {
-        return map.getOrDefault(xy, new ArrayList<>())
-            .stream()
-            .allMatch(e -> e.collide(entity));
-    }
-
-    private static int cost(Map<Position, List<Entity>> map, Position xy) {
-        return 1 + map.getOrDefault(xy, new ArrayList<>())
-                    .stream()
-                    .map(Entity::moveCost)
-                    .reduce(0, Integer::max);
-    }
-
-    private static List<Position> adjacent(Position xy) {
-        return new ArrayList<>(List.of(
-            xy.translateBy(Direction.LEFT),
-            xy.translateBy(Direction.RIGHT),
-            xy.translateBy(Direction.UP),
-            xy.translateBy(Direction.DOWN)
-        ));
-    }
-
-    private static Map<String, Integer> bounds(List<Entity> entities) {
-        List<Position> positions = entities.stream().map(Entity::getPosition).collect(Collectors.toList());
-        Map<String, Integer> m = new HashMap<>();
-        int leftMost = positions.stream()
-                .map(Position::getX)
-                .reduce(0, Integer::min);
-        int rightMost = positions.stream()
-                .map(Position::getX)
-                .reduce(0, Integer::max);
-        int topMost = positions.stream()
-                .map(Position::getY)
-                .reduce(0, Integer::min);
-        int bottomMost = positions.stream()
-                .map(Position::getY)
-                .reduce(0, Integer::max);
-        m.put("left",   leftMost - 1);
-        m.put("right",  rightMost + 1);
-        m.put("top",    topMost - 1);
-        m.put("bottom", bottomMost + 1);
-        return m;
     }
 }
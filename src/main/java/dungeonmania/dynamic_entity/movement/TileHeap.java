@@ -0,0 +1,101 @@
+package dungeonmania.dynamic_entity.movement;
+
+import java.util.Arrays;
+
+/**
+ * Binary min heap of tile indices keyed by distance, used by the Dijkstra search of ShortestPath.
+ *      - Entries are packed as (distance << 32 | push sequence), so equal distances pop first in first out.
+ *      - Stale entries are not removed, callers skip a popped tile whose distance has since improved.
+ */
+class TileHeap {
+    private long[] heap = new long[16];
+    private int[] pushed = new int[16];
+    private int size = 0;
+    private int sequence = 0;
+
+    /**
+     * Empties the heap
+     */
+    void clear() {
+        size = 0;
+        sequence = 0;
+    }
+
+    /**
+     * Checks if empty
+     * @return true if there are no entries
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Pushes a tile
+     * @param tile
+     * @param distance
+     */
+    void push(int tile, int distance) {
+        if (sequence == pushed.length) {
+            pushed = Arrays.copyOf(pushed, sequence * 2);
+        }
+        long entry = ((long) distance << 32) | sequence;
+        pushed[sequence++] = tile;
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= entry) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    /**
+     * Pops the closest entry
+     * @return the packed entry, read with tileOf and distanceOf
+     */
+    long pop() {
+        long top = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    /**
+     * Gets the tile of a popped entry
+     * @param entry
+     * @return the tile index
+     */
+    int tileOf(long entry) {
+        return pushed[(int) entry];
+    }
+
+    /**
+     * Gets the distance of a popped entry
+     * @param entry
+     * @return the distance
+     */
+    static int distanceOf(long entry) {
+        return (int) (entry >>> 32);
+    }
+}
@@ -2,24 +2,22 @@ package dungeonmania.dynamic_entity.player;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import dungeonmania.Inventory;
-import dungeonmania.collectible.Bow;
-import dungeonmania.collectible.Buildable;
 import dungeonmania.collectible.Collectible;
 import dungeonmania.collectible.InvincibilityPotion;
 import dungeonmania.collectible.InvisibilityPotion;
-import dungeonmania.collectible.MidnightArmour;
-import dungeonmania.collectible.Shield;
-import dungeonmania.collectible.Sword;
 import dungeonmania.dynamic_entity.DynamicEntity;
 import dungeonmania.dynamic_entity.Player;
+import dungeonmania.response.models.BattleResponse;
+import dungeonmania.response.models.RoundResponse;
+import dungeonmania.util.RunLengthList;
 
 public class BattleRecord implements Serializable{
-    private DynamicEntity enemy;
+    // only the type is kept, so a defeated enemy can be let go
+    private String enemyType;
+    // run-length encoded, each record stands for its count of identical rounds
     private List <RoundRecord> rounds = new ArrayList<>();
     private double initialPlayerHealth;
     private double initialEnemyHealth;
@@ -30,107 +28,80 @@ public class BattleRecord implements Serializable{
      * @param player
      */
     public BattleRecord(DynamicEntity enemy, DynamicEntity player) {
-        this.enemy = enemy;
+        this.enemyType = enemy.getType();
         this.initialPlayerHealth = player.getHealth();
         this.initialEnemyHealth = enemy.getHealth();
         // One round Battle if Player is INVINCIBLE
         if (((Player)player).getStatus().equals("INVINCIBLE")) {
             Collectible currentPotion = ((Player)player).getCurrentPotion();
-            List<Object> itemUsed = new ArrayList<>();
-            itemUsed.add(currentPotion);
-            addRoundRecord(0, -1 * enemy.getHealth(), itemUsed);
+            List<ItemRecord> itemUsed = new ArrayList<>();
+            itemUsed.add(potionRecord(currentPotion));
+            addRoundRecord(0, -1 * enemy.getHealth(), itemUsed, 1);
             enemy.setHealth(0);
         } else {
-            startBattle(player);
+            startBattle(enemy, player);
         }
     }
     
     /**
-     * Adds a RoundRecord to BattleRecord
-     * @param double, double, List <Object>
-     * @return List<List<Object>>
+     * Records the potion that made the player invincible
+     * @param potion
+     * @return the record, or null if the potion is not known
      */
-    private void addRoundRecord(double changePlayerHealth, double changeEnemyHealth, List <Object> battleItems) {
-        // Convert battleItems into ItemRecords
+    private static ItemRecord potionRecord(Collectible potion) {
+        if (potion instanceof InvincibilityPotion || potion instanceof InvisibilityPotion) {
+            return new ItemRecord(potion.getId(), potion.getType());
+        }
+        return null;
+    }
 
-        List<ItemRecord> weaponsUsed = new ArrayList<>();
-        battleItems.stream().forEach(
-            item -> {
-                ItemRecord newItem = null;
-                if (item instanceof Sword) {
-                    Sword temp = (Sword)item;
-                    newItem = new ItemRecord(temp.getId(), temp.getType());
-                } else if (item instanceof Buildable) {
-                    Buildable temp = (Buildable)item;
-                    newItem = new ItemRecord(temp.getId(), temp.getType());
-                } else if (item instanceof InvincibilityPotion || item instanceof InvisibilityPotion) {
-                    Collectible temp = (Collectible)item;
-                    newItem = new ItemRecord(temp.getId(), temp.getType());
-                }
-                weaponsUsed.add(newItem);
-            }
-        );
-        RoundRecord newRecord = new RoundRecord(changePlayerHealth, changeEnemyHealth, weaponsUsed);
+    /**
+     * Adds a RoundRecord to BattleRecord
+     * @param double, double, List <ItemRecord>, int - the number of identical rounds
+     */
+    private void addRoundRecord(double changePlayerHealth, double changeEnemyHealth, List <ItemRecord> weaponsUsed, int count) {
+        RoundRecord newRecord = new RoundRecord(changePlayerHealth, changeEnemyHealth, weaponsUsed, count);
         rounds.add(newRecord);
     }
 
     /**
-     * Starts a Battle with Player and adds relevant Records
+     * Starts a Battle with Player and adds relevant Records.
+     * The equipment, and so the damage each side deals, only changes when an item breaks. The rounds up to the
+     * next breakage are fought as one segment: the items are worn down and recorded once per segment.
+     * Health still goes down a round at a time, so it matches round by round play exactly, including a Hydra's
+     * chance to heal each round.
+     * @param enemy
      * @param Player
      */
-    private void startBattle(DynamicEntity player) {
+    private void startBattle(DynamicEntity enemy, DynamicEntity player) {
         double enemyAttack = enemy.getAttack();
         double playerAttack = player.getAttack();
-
-        // Default values
-        double bowModifier = 1;
-        double swordAdd = 0;
-        double shieldMinus = 0;
+        Loadout loadout = new Loadout(((Player) player).getInventory());
 
         double newEnemyHealth = initialEnemyHealth;
         double newPlayerHealth = initialPlayerHealth;
         while (newEnemyHealth > 0 && newPlayerHealth > 0) {
-
-            // itemsInRoundUsed will have { List of Swords, List of Bows, List of Shields, List of MidnightArmours}
-            List <List<Object>> itemsInRoundUsed = itemsAvaliable(player);
-            // Calculate modifiers
-            if (itemsInRoundUsed.get(0).size() != 0) {
-                List<Object> swordsUsed = itemsInRoundUsed.get(0);
-                Sword temp = (Sword)swordsUsed.get(0);
-                int swordAttack = temp.getAtack();
-                swordAdd = itemsInRoundUsed.get(0).size() * swordAttack;
-            }
-
-            if (itemsInRoundUsed.get(1).size() != 0) {
-                bowModifier = itemsInRoundUsed.get(1).size() + 1;
-            }
-            if (itemsInRoundUsed.get(2).size() != 0) {
-                List<Object> shieldsUsed = itemsInRoundUsed.get(2);
-                Shield temp = (Shield)shieldsUsed.get(0);
-                int shieldDefense = temp.getShieldDefense();
-                shieldMinus = itemsInRoundUsed.get(2).size() * shieldDefense;
-            }
-            if (itemsInRoundUsed.get(3).size() != 0) {
-                List<Object> MidnightArmourUsed = itemsInRoundUsed.get(3);
-                MidnightArmour temp = (MidnightArmour)MidnightArmourUsed.get(0);
-                enemyAttack -= temp.getDefence() * MidnightArmourUsed.size();
-                playerAttack += temp.getAttack() * MidnightArmourUsed.size();
+            if (loadout.hasArmour()) {
+                enemyAttack -= loadout.getArmourDefence();
+                playerAttack += loadout.getArmourAttack();
             }
-
-            double modifiedPlayerDamage = ((bowModifier * (playerAttack + swordAdd))/5);
-            double modifiedEnemyDamage = ((enemyAttack - shieldMinus) / 10);
-            newEnemyHealth = enemy.newHealth(modifiedPlayerDamage);
-            newPlayerHealth = player.getHealth() - modifiedEnemyDamage;
-            // Update durability of equipment
-            updateDurability(itemsInRoundUsed, (Player)player);
-
-            // Convert itemsInRoundUsed into single list of items used
-            List <Object> battleItems = convertToList(itemsInRoundUsed);
-            addRoundRecord(-1 * modifiedEnemyDamage, -1 * modifiedPlayerDamage, battleItems);
-            // Remove broken items
-            ((Player)player).removeBrokenItems();
-            enemy.setHealth(newEnemyHealth);
-            player.setHealth(newPlayerHealth);
+            double modifiedPlayerDamage = Loadout.playerDamage(playerAttack, loadout.getSwordAttack(), loadout.getBowModifier());
+            double modifiedEnemyDamage = Loadout.enemyDamage(enemyAttack, loadout.getShieldDefence());
+
+            // Midnight armour strengthens the player again every round, so it keeps segments to one round
+            int segment = loadout.hasArmour() ? 1 : loadout.roundsUntilBreakage();
+            int rounds = 0;
+            do {
+                newEnemyHealth = enemy.newHealth(modifiedPlayerDamage);
+                newPlayerHealth = player.getHealth() - modifiedEnemyDamage;
+                enemy.setHealth(newEnemyHealth);
+                player.setHealth(newPlayerHealth);
+                rounds++;
+            } while (rounds < segment && newEnemyHealth > 0 && newPlayerHealth > 0);
+
+            addRoundRecord(-1 * modifiedEnemyDamage, -1 * modifiedPlayerDamage, loadout.getItemRecords(), rounds);
+            // Update durability of equipment, removing broken items
+            loadout.wear(rounds);
         }
         if (enemy.getHealth() <= 0) {
             Player p = (Player) player;
@@ -139,73 +110,19 @@ public class BattleRecord implements Serializable{
     }
 
     /**
-     * Adds a RoundRecord to BattleRecord
-     * @param List<List<Object>>, Player
-     */
-    private void updateDurability(List<List<Object>> itemsUsed, Player player) {
-        // Unchecked Type cast, itemsUsed has been safely type checked from method itemsAvaliable
-        List<Sword> SwordsUsed = (List<Sword>)(List<?>) itemsUsed.get(0);
-        List<Buildable> BowsUsed = (List<Buildable>)(List<?>) itemsUsed.get(1);
-        List<Buildable> ShieldsUsed = (List<Buildable>)(List<?>) itemsUsed.get(2);
-        
-        Inventory i = player.getInventory();
-        SwordsUsed.stream().forEach(
-            x -> {
-                String id = x.getId();
-                i.reduceDurability("sword", id);
-            }
-        );
-
-        BowsUsed.stream().forEach(
-            x -> {
-                String id = x.getId();
-                i.reduceDurability("bow", id);
-            }
-        );
-
-        ShieldsUsed.stream().forEach(
-            x -> {
-                String id = x.getId();
-                i.reduceDurability("shield", id);
-            }
-        );
-
-    }
-
-    /**
-     * Returns a list of the list of items avaliable in the form { List of Swords, List of Bows, List of Shields} 
-     * @param player
-     * @return List<List<Object>>
-     */
-    private List<List<Object>> itemsAvaliable(DynamicEntity player) {
-
-        List<List<Object>> listsOfItems = new ArrayList<>();
-        Inventory i = ((Player) player).getInventory();
-        List <Collectible> CollectableItems = i.getCollectableItems();
-        List <Buildable> BuildableItems = i.getBuildableItems();
-
-        listsOfItems.add(CollectableItems.stream().filter(item -> item instanceof Sword).collect(Collectors.toList()));
-        listsOfItems.add(BuildableItems.stream().filter(item -> item instanceof Bow).collect(Collectors.toList()));
-        listsOfItems.add(BuildableItems.stream().filter(item -> item instanceof Shield).collect(Collectors.toList()));
-        listsOfItems.add(BuildableItems.stream().filter(item -> item instanceof MidnightArmour).collect(Collectors.toList()));
-        return listsOfItems;
-    }
-
-    /**
-     * Converts to list
-     * @param listsOfItems
-     * @return list
+     * Gets rounds
+     * @return the rounds, run-length encoded: each record stands for its count of identical rounds
      */
-    private List <Object> convertToList(List<List<Object>> listsOfItems) {
-        return listsOfItems.stream().flatMap(Collection::stream).collect(Collectors.toList());
+    public List<RoundRecord> getRounds() {
+        return rounds; 
     }
 
     /**
-     * Gets rounds
-     * @return the rounds
+     * Gets round count
+     * @return the number of rounds fought
      */
-    public List<RoundRecord> getRounds() {
-        return rounds; 
+    public int getRoundCount() {
+        return rounds.stream().mapToInt(RoundRecord::getCount).sum();
     }
 
     /**
@@ -225,10 +142,21 @@ public class BattleRecord implements Serializable{
     }
 
     /**
-     * gets enemy
-     * @return the enemy
+     * Gets enemy type
+     * @return the type of the enemy fought
+     */
+    public String getEnemyType() {
+        return enemyType;
+    }
+
+    /**
+     * Converts to a battle response. The battle is over once recorded, so this only needs doing once
+     * @return the battle response, with a read-only list of rounds that repeats each run's response as it is read
      */
-    public DynamicEntity getEnemy() {
-        return enemy;
+    public BattleResponse toBattleResponse() {
+        List<RoundResponse> roundResponses = new RunLengthList<>(
+            rounds.stream().map(RoundRecord::toRoundResponse).collect(Collectors.toList()),
+            rounds.stream().map(RoundRecord::getCount).collect(Collectors.toList()));
+        return new BattleResponse(enemyType, roundResponses, initialPlayerHealth, initialEnemyHealth);
     }
 }
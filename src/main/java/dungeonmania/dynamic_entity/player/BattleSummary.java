@@ -0,0 +1,111 @@
+package dungeonmania.dynamic_entity.player;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.json.JSONObject;
+
+import dungeonmania.response.models.BattleResponse;
+
+/**
+ * What is kept of an old battle once its rounds are let go
+ */
+public class BattleSummary implements Serializable {
+    private final String enemyType;
+    private final double initialPlayerHealth;
+    private final double initialEnemyHealth;
+    private final int rounds;
+    private final double changePlayerHealth;
+    private final double changeEnemyHealth;
+
+    /**
+     * BattleSummary Constructor
+     * @param record - the battle to summarise
+     */
+    public BattleSummary(BattleRecord record) {
+        this.enemyType = record.getEnemyType();
+        this.initialPlayerHealth = record.getInitialPlayerHealth();
+        this.initialEnemyHealth = record.getInitialEnemyHealth();
+        int rounds = 0;
+        double changePlayerHealth = 0;
+        double changeEnemyHealth = 0;
+        for (RoundRecord round : record.getRounds()) {
+            rounds += round.getCount();
+            changePlayerHealth += round.getChangePlayerHealth() * round.getCount();
+            changeEnemyHealth += round.getChangeEnemyHealth() * round.getCount();
+        }
+        this.rounds = rounds;
+        this.changePlayerHealth = changePlayerHealth;
+        this.changeEnemyHealth = changeEnemyHealth;
+    }
+
+    /**
+     * Gets enemy type
+     * @return the type of the enemy fought
+     */
+    public String getEnemyType() {
+        return enemyType;
+    }
+
+    /**
+     * Gets initial player health
+     * @return the initial player health
+     */
+    public double getInitialPlayerHealth() {
+        return initialPlayerHealth;
+    }
+
+    /**
+     * Gets initial enemy health
+     * @return the initial enemy health
+     */
+    public double getInitialEnemyHealth() {
+        return initialEnemyHealth;
+    }
+
+    /**
+     * Gets rounds
+     * @return the number of rounds fought
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Gets changed player health
+     * @return the change in player health over the battle
+     */
+    public double getChangePlayerHealth() {
+        return changePlayerHealth;
+    }
+
+    /**
+     * Gets changed enemy health
+     * @return the change in enemy health over the battle
+     */
+    public double getChangeEnemyHealth() {
+        return changeEnemyHealth;
+    }
+
+    /**
+     * Converts to a battle response
+     * @return the battle response, without rounds
+     */
+    public BattleResponse toBattleResponse() {
+        return new BattleResponse(enemyType, List.of(), initialPlayerHealth, initialEnemyHealth);
+    }
+
+    /**
+     * Converts to JSON, e.g. to write it out
+     * @return the summary as a JSON object
+     */
+    public JSONObject toJSON() {
+        return new JSONObject()
+            .put("enemy", enemyType)
+            .put("initial_player_health", initialPlayerHealth)
+            .put("initial_enemy_health", initialEnemyHealth)
+            .put("rounds", rounds)
+            .put("delta_player_health", changePlayerHealth)
+            .put("delta_enemy_health", changeEnemyHealth);
+    }
+}
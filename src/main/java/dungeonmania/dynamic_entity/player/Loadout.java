@@ -0,0 +1,212 @@
+package dungeonmania.dynamic_entity.player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import dungeonmania.Inventory;
+import dungeonmania.collectible.Bow;
+import dungeonmania.collectible.Buildable;
+import dungeonmania.collectible.Collectible;
+import dungeonmania.collectible.MidnightArmour;
+import dungeonmania.collectible.Shield;
+import dungeonmania.collectible.Sword;
+
+/**
+ * The equipment the player fights a battle with, and the modifiers it gives.
+ *      - Taken from the inventory when the battle starts, and only taken again when an item breaks.
+ *      - A modifier keeps its last value once every item giving it has broken.
+ *      - Midnight armour never wears down. Its attack and defence are applied again every round.
+ */
+public class Loadout {
+    private final Inventory inventory;
+    private List<Sword> swords;
+    private List<Buildable> bows;
+    private List<Buildable> shields;
+    private List<ItemRecord> itemRecords;
+
+    private double swordAttack = 0;
+    private double bowModifier = 1;
+    private double shieldDefence = 0;
+    private double armourAttack = 0;
+    private double armourDefence = 0;
+    private boolean hasArmour = false;
+
+    /**
+     * Loadout Constructor
+     * @param inventory - the inventory of the player about to fight
+     */
+    public Loadout(Inventory inventory) {
+        this.inventory = inventory;
+        refresh();
+    }
+
+    /**
+     * Takes the equipment from the inventory again and updates the modifiers it gives
+     */
+    private void refresh() {
+        swords = new ArrayList<>();
+        for (Collectible item : inventory.getItems("sword")) {
+            if (item instanceof Sword) {
+                swords.add((Sword) item);
+            }
+        }
+        bows = new ArrayList<>();
+        shields = new ArrayList<>();
+        List<MidnightArmour> armours = new ArrayList<>();
+        for (Buildable item : inventory.getBuildableItems()) {
+            if (item instanceof Bow) {
+                bows.add(item);
+            } else if (item instanceof Shield) {
+                shields.add(item);
+            } else if (item instanceof MidnightArmour) {
+                armours.add((MidnightArmour) item);
+            }
+        }
+
+        if (!swords.isEmpty()) {
+            swordAttack = swords.size() * swords.get(0).getAtack();
+        }
+        if (!bows.isEmpty()) {
+            bowModifier = bows.size() + 1;
+        }
+        if (!shields.isEmpty()) {
+            shieldDefence = shields.size() * ((Shield) shields.get(0)).getShieldDefense();
+        }
+        hasArmour = !armours.isEmpty();
+        if (hasArmour) {
+            armourAttack = armours.get(0).getAttack() * armours.size();
+            armourDefence = armours.get(0).getDefence() * armours.size();
+        }
+
+        List<ItemRecord> records = new ArrayList<>();
+        swords.forEach(item -> records.add(new ItemRecord(item.getId(), item.getType())));
+        bows.forEach(item -> records.add(new ItemRecord(item.getId(), item.getType())));
+        shields.forEach(item -> records.add(new ItemRecord(item.getId(), item.getType())));
+        armours.forEach(item -> records.add(new ItemRecord(item.getId(), item.getType())));
+        itemRecords = List.copyOf(records);
+    }
+
+    /**
+     * Gets the number of rounds the equipment lasts unchanged
+     * @return the rounds until the first sword, bow or shield breaks, or Integer.MAX_VALUE if none will
+     */
+    public int roundsUntilBreakage() {
+        int rounds = Integer.MAX_VALUE;
+        for (Sword item : swords) {
+            rounds = untilBroken(item.getDurability(), rounds);
+        }
+        for (Buildable item : bows) {
+            rounds = untilBroken(item.getDurability(), rounds);
+        }
+        for (Buildable item : shields) {
+            rounds = untilBroken(item.getDurability(), rounds);
+        }
+        return rounds;
+    }
+
+    // items are only removed when their durability reaches exactly 0, so one already at or below 0 never breaks
+    private static int untilBroken(int durability, int rounds) {
+        return durability > 0 ? Math.min(durability, rounds) : rounds;
+    }
+
+    /**
+     * Wears down the swords, bows and shields, removing any that broke and taking the equipment again if so
+     * @param rounds - the number of rounds they were used for
+     */
+    public void wear(int rounds) {
+        boolean broken = false;
+        for (Sword item : swords) {
+            inventory.reduceDurability("sword", item.getId(), rounds);
+            broken |= item.getDurability() == 0;
+        }
+        for (Buildable item : bows) {
+            inventory.reduceDurability("bow", item.getId(), rounds);
+            broken |= item.getDurability() == 0;
+        }
+        for (Buildable item : shields) {
+            inventory.reduceDurability("shield", item.getId(), rounds);
+            broken |= item.getDurability() == 0;
+        }
+        if (broken) {
+            inventory.removeBrokenItems();
+            refresh();
+        }
+    }
+
+    /**
+     * Works out the damage the player deals in a round. Battles in a dungeon and simulated battles both use it
+     * @param attack - the player's attack, with any midnight armour added
+     * @param swordAttack
+     * @param bowModifier
+     * @return the health the enemy loses
+     */
+    public static double playerDamage(double attack, double swordAttack, double bowModifier) {
+        return (bowModifier * (attack + swordAttack)) / 5;
+    }
+
+    /**
+     * Works out the damage an enemy deals in a round. Battles in a dungeon and simulated battles both use it
+     * @param attack - the enemy's attack, with any midnight armour taken away
+     * @param shieldDefence
+     * @return the health the player loses
+     */
+    public static double enemyDamage(double attack, double shieldDefence) {
+        return (attack - shieldDefence) / 10;
+    }
+
+    /**
+     * Gets sword attack
+     * @return the attack added by swords
+     */
+    public double getSwordAttack() {
+        return swordAttack;
+    }
+
+    /**
+     * Gets bow modifier
+     * @return the multiplier bows give the player's damage
+     */
+    public double getBowModifier() {
+        return bowModifier;
+    }
+
+    /**
+     * Gets shield defence
+     * @return the enemy attack blocked by shields
+     */
+    public double getShieldDefence() {
+        return shieldDefence;
+    }
+
+    /**
+     * Gets armour attack
+     * @return the player attack midnight armour adds each round
+     */
+    public double getArmourAttack() {
+        return armourAttack;
+    }
+
+    /**
+     * Gets armour defence
+     * @return the enemy attack midnight armour takes away each round
+     */
+    public double getArmourDefence() {
+        return armourDefence;
+    }
+
+    /**
+     * Checks for midnight armour
+     * @return true if the player wears midnight armour
+     */
+    public boolean hasArmour() {
+        return hasArmour;
+    }
+
+    /**
+     * Gets item records
+     * @return read-only records of the items used each round, swords then bows, shields and armour
+     */
+    public List<ItemRecord> getItemRecords() {
+        return itemRecords;
+    }
+}
@@ -2,11 +2,17 @@ package dungeonmania.dynamic_entity.player;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.stream.Collectors;
+
+import dungeonmania.response.models.ItemResponse;
+import dungeonmania.response.models.RoundResponse;
 
 public class RoundRecord implements Serializable {
     private double changePlayerHealth;
     private double changeEnemyHealth;
     List <ItemRecord> itemsUsed;
+    // the number of identical rounds this record stands for
+    private int count;
 
     /**
      * RoundRecord Constructor
@@ -15,9 +21,26 @@ public class RoundRecord implements Serializable {
      * @param itemsUsed
      */
     public RoundRecord(double changePlayerHealth, double changeEnemyHealth, List<ItemRecord> itemsUsed) {
+        this(changePlayerHealth, changeEnemyHealth, itemsUsed, 1);
+    }
+
+    /**
+     * RoundRecord Constructor, for a run of identical rounds
+     * @param changePlayerHealth - the change in each round
+     * @param changeEnemyHealth - the change in each round
+     * @param itemsUsed - the items used in each round
+     * @param count - the number of rounds, at least 1
+     * @throws IllegalArgumentException if count is less than 1
+     */
+    public RoundRecord(double changePlayerHealth, double changeEnemyHealth, List<ItemRecord> itemsUsed, int count)
+            throws IllegalArgumentException {
+        if (count < 1) {
+            throw new IllegalArgumentException("A round record stands for at least one round");
+        }
         this.changePlayerHealth = changePlayerHealth;
         this.changeEnemyHealth = changeEnemyHealth;
         this.itemsUsed = itemsUsed;
+        this.count = count;
     }
 
     /**
@@ -45,4 +68,23 @@ public class RoundRecord implements Serializable {
     public List<ItemRecord> getItemsUsed() {
         return itemsUsed;
     }
+
+    /**
+     * Gets count
+     * @return the number of identical rounds this record stands for
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Converts to a round response
+     * @return the round response, with a read-only list of the items used
+     */
+    public RoundResponse toRoundResponse() {
+        List<ItemResponse> weaponryUsed = itemsUsed.stream()
+            .map(item -> new ItemResponse(item.getId(), item.getType()))
+            .collect(Collectors.toUnmodifiableList());
+        return new RoundResponse(changePlayerHealth, changeEnemyHealth, weaponryUsed);
+    }
 }
\ No newline at end of file
@@ -1,37 +1,22 @@
 package dungeonmania.goal;
 
 import java.io.Serializable;
-import java.util.List;
-import java.util.stream.Collectors;
 
-import dungeonmania.Boulder;
-import dungeonmania.Entity;
-import dungeonmania.static_entity.FloorSwitch;
+import dungeonmania.EntityRegistry;
+import dungeonmania.TileMap;
 
 public class BoulderGoal implements Goal, Serializable {
 
     /**
      * Checks completed
-     * @param entities
+     * @param registry
      * @return boolean confirmation of completion
      */
     @Override
-    public boolean isComplete(List<Entity> entities) {
-        List<Entity> boulders = entities.stream()
-            .filter(e -> e instanceof Boulder)
-            .collect(Collectors.toList());
-        List<Entity> switches = entities.stream()
-            .filter(e -> e instanceof FloorSwitch)
-            .collect(Collectors.toList());
-        
-        // all switches have a boulder 
-        return switches.stream()
-            .map(Entity::getPosition)
-            .allMatch((sw_xy) -> {
-                return boulders.stream()
-                    .map(Entity::getPosition)
-                    .anyMatch(sw_xy::equals);
-            });
+    public boolean isComplete(EntityRegistry registry) {
+        // all switches have a boulder, counted by the TileMap as tiles change
+        TileMap tileMap = registry.getTileMap();
+        return tileMap.getCoveredSwitchCount() == tileMap.getSwitchCount();
     }
 
     /**
@@ -39,7 +24,7 @@ public class BoulderGoal implements Goal, Serializable {
      * @return the goals, i.e. ":boulders"
      */
     @Override
-    public String getGoal(List<Entity> entities) {
+    public String getGoal(EntityRegistry registry) {
         return ":boulders";
     }
 
@@ -1,11 +1,10 @@
 package dungeonmania.goal;
 
-import dungeonmania.Entity;
+import dungeonmania.EntityRegistry;
 import dungeonmania.dynamic_entity.Player;
+import dungeonmania.static_entity.ZombieToastSpawner;
 
 import java.io.Serializable;
-import java.util.List;
-import java.util.Optional;
 
 public class EnemiesGoal implements Goal, Serializable {
     private final int required;
@@ -20,19 +19,16 @@ public class EnemiesGoal implements Goal, Serializable {
 
     /**
      * Checks completed
-     * @param entities
+     * @param registry
      * @return boolean confirmation of completion
      */
     @Override
-    public boolean isComplete(List<Entity> entities) {
-        Optional<Player> maybePlayer = entities.stream()
-            .filter(e -> e instanceof Player)
-            .map(p -> (Player) p)
-            .findFirst();
-        if (maybePlayer.isEmpty())
+    public boolean isComplete(EntityRegistry registry) {
+        Player player = registry.getPlayer();
+        if (player == null)
             return false;
-        return maybePlayer.get().getEnemiesDefeated() >= required &&
-               entities.stream().noneMatch(e -> e.getType().contains("spawner"));
+        return player.getEnemiesDefeated() >= required &&
+               !registry.has(ZombieToastSpawner.class);
     }
 
     /**
@@ -40,7 +36,7 @@ public class EnemiesGoal implements Goal, Serializable {
      * @return the goal, i.e. ":enemies"
      */
     @Override
-    public String getGoal(List<Entity> entities) {
+    public String getGoal(EntityRegistry registry) {
         return ":enemies";
     }
 
@@ -1,33 +1,25 @@
 package dungeonmania.goal;
 
 import java.io.Serializable;
-import java.util.List;
-import java.util.Optional;
 
-import dungeonmania.Entity;
+import dungeonmania.EntityRegistry;
+import dungeonmania.TileMap;
 import dungeonmania.dynamic_entity.Player;
-import dungeonmania.static_entity.Exit;
-import dungeonmania.util.Position;
 
 public class ExitGoal implements Goal, Serializable {
 
     /**
      * Checks completed
-     * @param entities
+     * @param registry
      * @return boolean confirmation of completion
      */
     @Override
-    public boolean isComplete(List<Entity> entities) { 
-        Optional<Entity> maybe_player =  entities.stream()
-            .filter(p -> p instanceof Player)
-            .findFirst();
-        if (maybe_player.isEmpty()) {
+    public boolean isComplete(EntityRegistry registry) { 
+        Player player = registry.getPlayer();
+        if (player == null) {
             return false;
         }
-        Position player_xy = maybe_player.get().getPosition();
-        return entities.stream()
-            .filter(e -> e.getPosition().equals(player_xy))
-            .anyMatch(e -> e instanceof Exit);
+        return registry.getTileMap().hasFlag(player.getPosition(), TileMap.EXIT);
     }
 
     /**
@@ -35,7 +27,7 @@ public class ExitGoal implements Goal, Serializable {
      * @return the goals, i.e. ":exit"
      */
     @Override
-    public String getGoal(List<Entity> entities) {
+    public String getGoal(EntityRegistry registry) {
         return ":exit";
     }
 
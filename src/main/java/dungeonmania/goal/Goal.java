@@ -1,16 +1,14 @@
 package dungeonmania.goal;
 
-import java.util.List;
-
-import dungeonmania.Entity;
+import dungeonmania.EntityRegistry;
 
 public interface Goal {
-    boolean isComplete(List<Entity> entities);
+    boolean isComplete(EntityRegistry registry);
 
     /*
      * Returns the goal if it has NOT been completed, otherwise ""
      */
-    String getGoal(List<Entity> entities);
+    String getGoal(EntityRegistry registry);
 
     boolean isExitGoal();
 }
\ No newline at end of file
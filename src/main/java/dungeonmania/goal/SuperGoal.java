@@ -1,6 +1,6 @@
 package dungeonmania.goal;
 
-import dungeonmania.Entity;
+import dungeonmania.EntityRegistry;
 import org.json.JSONObject;
 
 import java.io.Serializable;
@@ -10,6 +10,9 @@ import java.util.List;
 public class SuperGoal implements Goal, Serializable {
     private String relation = "";
     private List<Goal> goals = new ArrayList<>();
+    // completion of each subgoal as of the last evaluation, and whether an exit goal is in the tree
+    private transient boolean[] done;
+    private transient Boolean exitGoal;
 
     /**
      * SuperGoal Constructor
@@ -54,15 +57,12 @@ public class SuperGoal implements Goal, Serializable {
 
     /**
      * Checks completed
-     * @param entities
+     * @param registry
      * @return boolean confirmation of completion
      */
     @Override
-    public boolean isComplete(List<Entity> entities) {
-        if (relation.equals("AND")) {
-            return goals.stream().allMatch(x -> x.isComplete(entities));
-        }
-        return goals.stream().anyMatch(x -> x.isComplete(entities));
+    public boolean isComplete(EntityRegistry registry) {
+        return evaluate(registry);
     }
 
     /**
@@ -70,26 +70,12 @@ public class SuperGoal implements Goal, Serializable {
      * @return the goals
      */
     @Override
-    public String getGoal(List<Entity> entities) {
+    public String getGoal(EntityRegistry registry) {
         // complete, show no remaining
-        if (isComplete(entities)) {
+        if (evaluate(registry)) {
             return "";
-        } // composition and none out of 2 complete
-        // stupid hack
-        String starter = "";
-        if (isExitGoal())
-            starter = ":exit";
-
-        if (!relation.equals("") && goals.stream().noneMatch(g -> g.isComplete(entities))) {
-            return starter + "(" + goals.get(0).getGoal(entities) + " " +
-                    relation + " " + goals.get(1).getGoal(entities) + ")";
         }
-        // one goal is not complete, show single goal
-        return goals.stream()
-                .filter(g -> !g.isComplete(entities))
-                .map(g -> g.getGoal(entities))
-                .findFirst()
-                .orElse("") + starter;
+        return describe(registry);
     }
 
     /**
@@ -98,6 +84,63 @@ public class SuperGoal implements Goal, Serializable {
      */
     @Override
     public boolean isExitGoal() {
-        return goals.stream().anyMatch(Goal::isExitGoal);
+        if (exitGoal == null) {
+            exitGoal = goals.stream().anyMatch(Goal::isExitGoal);
+        }
+        return exitGoal;
+    }
+
+    /**
+     * Evaluates every subgoal once, bottom up, keeping their completion for describe.
+     * Leaf goals read counters kept up to date as the dungeon changes, so this is linear in the size of the goal tree
+     * @param registry
+     * @return boolean confirmation of completion
+     */
+    private boolean evaluate(EntityRegistry registry) {
+        if (done == null || done.length != goals.size()) {
+            done = new boolean[goals.size()];
+        }
+        boolean all = true;
+        boolean any = false;
+        for (int i = 0; i < goals.size(); i++) {
+            Goal goal = goals.get(i);
+            done[i] = goal instanceof SuperGoal ? ((SuperGoal) goal).evaluate(registry) : goal.isComplete(registry);
+            all &= done[i];
+            any |= done[i];
+        }
+        return relation.equals("AND") ? all : any;
+    }
+
+    /**
+     * Describes an incomplete goal from the completion found by the last evaluate
+     * @param registry
+     * @return the goals still remaining
+     */
+    private String describe(EntityRegistry registry) {
+        // stupid hack
+        String starter = "";
+        if (isExitGoal())
+            starter = ":exit";
+
+        boolean noneDone = true;
+        for (boolean d : done) {
+            noneDone &= !d;
+        }
+        // composition and none out of 2 complete
+        if (!relation.equals("") && noneDone) {
+            return starter + "(" + describe(goals.get(0), registry) + " " +
+                    relation + " " + describe(goals.get(1), registry) + ")";
+        }
+        // one goal is not complete, show single goal
+        for (int i = 0; i < goals.size(); i++) {
+            if (!done[i]) {
+                return describe(goals.get(i), registry) + starter;
+            }
+        }
+        return starter;
+    }
+
+    private String describe(Goal goal, EntityRegistry registry) {
+        return goal instanceof SuperGoal ? ((SuperGoal) goal).describe(registry) : goal.getGoal(registry);
     }
 }
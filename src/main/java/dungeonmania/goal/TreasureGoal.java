@@ -1,10 +1,9 @@
 package dungeonmania.goal;
 
-import dungeonmania.Entity;
+import dungeonmania.EntityRegistry;
 import dungeonmania.dynamic_entity.Player;
 
 import java.io.Serializable;
-import java.util.List;
 
 public class TreasureGoal implements Goal, Serializable {
     private final int treasure_required;
@@ -19,17 +18,13 @@ public class TreasureGoal implements Goal, Serializable {
     
     /**
      * Checks completed
-     * @param entities
+     * @param registry
      * @return boolean confirmation of completion
      */
     @Override
-    public boolean isComplete(List<Entity> entities) {
-        return entities.stream()
-                .filter(e -> e instanceof Player)
-                .anyMatch(e -> {
-                    Player p = (Player) e;
-                    return p.totalTreasureCollected() >= treasure_required;
-                });
+    public boolean isComplete(EntityRegistry registry) {
+        Player player = registry.getPlayer();
+        return player != null && player.totalTreasureCollected() >= treasure_required;
     }
 
     /**
@@ -37,8 +32,8 @@ public class TreasureGoal implements Goal, Serializable {
      * @return the goals, i.e. ":treasure"
      */
     @Override
-    public String getGoal(List<Entity> entities) {
-        return isComplete(entities) ? "" : ":treasure";
+    public String getGoal(EntityRegistry registry) {
+        return isComplete(registry) ? "" : ":treasure";
     }
 
     /**
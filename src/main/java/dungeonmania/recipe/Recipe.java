@@ -0,0 +1,161 @@
+package dungeonmania.recipe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * How to build one item. A recipe is a list of alternatives, tried in order; the first one the inventory
+ * satisfies is the one used.
+ */
+public class Recipe {
+    private final String item;
+    private final int index;
+    private final List<Alternative> alternatives;
+    private final Set<String> ingredients = new LinkedHashSet<>();
+
+    /**
+     * One combination of ingredients
+     *      - requires: items that must be held but are not used up, e.g. the sun stone of a shield
+     *      - consumes: items used up by the build
+     * A type in both needs the larger count held, and loses the consumed count.
+     */
+    public static class Alternative {
+        private final Map<String, Integer> requires;
+        private final Map<String, Integer> consumes;
+
+        /**
+         * Alternative Constructor
+         * @param requires
+         * @param consumes
+         */
+        public Alternative(Map<String, Integer> requires, Map<String, Integer> consumes) {
+            this.requires = Collections.unmodifiableMap(new LinkedHashMap<>(requires));
+            this.consumes = Collections.unmodifiableMap(new LinkedHashMap<>(consumes));
+        }
+
+        /**
+         * Checks the ingredients are held
+         * @param counts - the number of items held of a type
+         * @return true if every required and consumed count is held
+         */
+        public boolean isSatisfied(ToIntFunction<String> counts) {
+            for (Map.Entry<String, Integer> entry : requires.entrySet()) {
+                if (counts.applyAsInt(entry.getKey()) < Math.max(entry.getValue(), consumes.getOrDefault(entry.getKey(), 0))) {
+                    return false;
+                }
+            }
+            for (Map.Entry<String, Integer> entry : consumes.entrySet()) {
+                if (counts.applyAsInt(entry.getKey()) < entry.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Gets requires
+         * @return the items held but not used up, by type
+         */
+        public Map<String, Integer> getRequires() {
+            return requires;
+        }
+
+        /**
+         * Gets consumes
+         * @return the items used up, by type
+         */
+        public Map<String, Integer> getConsumes() {
+            return consumes;
+        }
+    }
+
+    /**
+     * Recipe Constructor
+     * @param item
+     * @param index - the position of the recipe in its book
+     * @param alternatives
+     */
+    public Recipe(String item, int index, List<Alternative> alternatives) {
+        this.item = item;
+        this.index = index;
+        this.alternatives = List.copyOf(alternatives);
+        for (Alternative alternative : alternatives) {
+            ingredients.addAll(alternative.getRequires().keySet());
+            ingredients.addAll(alternative.getConsumes().keySet());
+        }
+    }
+
+    /**
+     * Reads a recipe of the form {"item": "bow", "alternatives": [{"requires": {...}, "consumes": {...}}]}
+     * @param json
+     * @param index
+     * @return the recipe
+     */
+    static Recipe fromJSON(JSONObject json, int index) {
+        JSONArray alternatives = json.getJSONArray("alternatives");
+        List<Alternative> result = new ArrayList<>();
+        for (int i = 0; i < alternatives.length(); i++) {
+            JSONObject alternative = alternatives.getJSONObject(i);
+            result.add(new Alternative(counts(alternative.optJSONObject("requires")),
+                counts(alternative.optJSONObject("consumes"))));
+        }
+        return new Recipe(json.getString("item"), index, result);
+    }
+
+    private static Map<String, Integer> counts(JSONObject json) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        if (json != null) {
+            for (String type : json.keySet()) {
+                counts.put(type, json.getInt(type));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Finds the alternative a build would use
+     * @param counts - the number of items held of a type
+     * @return the first satisfied alternative, or null if the item cannot be built
+     */
+    public Alternative findAlternative(ToIntFunction<String> counts) {
+        for (Alternative alternative : alternatives) {
+            if (alternative.isSatisfied(counts)) {
+                return alternative;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets item
+     * @return the type of the item built
+     */
+    public String getItem() {
+        return item;
+    }
+
+    /**
+     * Gets index
+     * @return the position of the recipe in its book
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets ingredients
+     * @return every type any alternative mentions
+     */
+    public Set<String> getIngredients() {
+        return Collections.unmodifiableSet(ingredients);
+    }
+}
@@ -0,0 +1,95 @@
+package dungeonmania.recipe;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+
+import dungeonmania.util.FileLoader;
+
+/**
+ * The recipes of every buildable item, read from /recipes.json, in the order the file lists them
+ */
+public class RecipeBook {
+    private static RecipeBook standard;
+
+    private final Map<String, Recipe> recipes = new LinkedHashMap<>();
+    private final Map<String, List<Recipe>> recipesUsing = new HashMap<>();
+
+    /**
+     * RecipeBook Constructor
+     * @param json - an array of recipes
+     */
+    public RecipeBook(JSONArray json) {
+        for (int i = 0; i < json.length(); i++) {
+            Recipe recipe = Recipe.fromJSON(json.getJSONObject(i), i);
+            recipes.put(recipe.getItem(), recipe);
+            for (String ingredient : recipe.getIngredients()) {
+                recipesUsing.computeIfAbsent(ingredient, t -> new ArrayList<>()).add(recipe);
+            }
+        }
+    }
+
+    /**
+     * Gets the recipe book shipped with the game
+     * @return the recipes in /recipes.json
+     * @throws IllegalStateException if the file cannot be read
+     */
+    public static synchronized RecipeBook getStandard() throws IllegalStateException {
+        if (standard == null) {
+            try {
+                standard = new RecipeBook(new JSONArray(FileLoader.loadResourceFile("/recipes.json")));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read the recipes", e);
+            }
+        }
+        return standard;
+    }
+
+    /**
+     * Gets a recipe
+     * @param item
+     * @return the recipe for item, or null if it cannot be built
+     */
+    public Recipe getRecipe(String item) {
+        return recipes.get(item);
+    }
+
+    /**
+     * Gets recipes
+     * @return every recipe, in book order
+     */
+    public List<Recipe> getRecipes() {
+        return List.copyOf(recipes.values());
+    }
+
+    /**
+     * Gets items
+     * @return the type of every buildable item, in book order
+     */
+    public List<String> getItems() {
+        return List.copyOf(recipes.keySet());
+    }
+
+    /**
+     * Gets the recipes an ingredient appears in
+     * @param type
+     * @return the recipes whose buildability can change when items of type come or go
+     */
+    public List<Recipe> getRecipesUsing(String type) {
+        return recipesUsing.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * Gets size
+     * @return the number of recipes
+     */
+    public int size() {
+        return recipes.size();
+    }
+}
@@ -0,0 +1,42 @@
+package dungeonmania.response.models;
+
+import java.util.List;
+
+public final class BatchResponse implements LazyResponse {
+    private final int steps;
+    private final String stoppedBy;
+    private final List<DungeonResponse> responses;
+
+    public BatchResponse(int steps, String stoppedBy, List<DungeonResponse> responses) {
+        this.steps = steps;
+        this.stoppedBy = stoppedBy;
+        this.responses = responses;
+    }
+
+    public final int getSteps() {
+        return steps;
+    }
+
+    public final String getStoppedBy() {
+        return stoppedBy;
+    }
+
+    public final List<DungeonResponse> getResponses() {
+        return responses;
+    }
+
+    public final DungeonResponse getFinalResponse() {
+        return responses.get(responses.size() - 1);
+    }
+
+    /**
+     * Computes every section of the responses built
+     * @throws IllegalStateException if the dungeon changed before a response was computed
+     */
+    @Override
+    public void materialise() throws IllegalStateException {
+        for (DungeonResponse response : responses) {
+            response.materialise();
+        }
+    }
+}
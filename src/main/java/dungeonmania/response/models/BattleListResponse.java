@@ -0,0 +1,35 @@
+package dungeonmania.response.models;
+
+import java.util.List;
+
+public final class BattleListResponse {
+    private final int first;
+    private final int total;
+    private final List<BattleResponse> battles;
+
+    public BattleListResponse(int first, int total, List<BattleResponse> battles) {
+        this.first = first;
+        this.total = total;
+        this.battles = battles;
+    }
+
+    /**
+     * Gets first
+     * @return the index of the first battle listed, later than since once older battles are let go
+     */
+    public final int getFirst() {
+        return first;
+    }
+
+    /**
+     * Gets total
+     * @return the number of battles fought, which is the since to ask for next
+     */
+    public final int getTotal() {
+        return total;
+    }
+
+    public final List<BattleResponse> getBattles() {
+        return battles;
+    }
+}
@@ -0,0 +1,96 @@
+package dungeonmania.response.models;
+
+import java.util.List;
+
+public final class DeltaResponse implements LazyResponse {
+    private final String epoch;
+    private final long version;
+    private final DungeonResponse full;
+    private final List<EntityResponse> added;
+    private final List<EntityResponse> changed;
+    private final List<String> removed;
+    private final List<ItemResponse> inventory;
+    private final List<BattleResponse> battles;
+    private final List<String> buildables;
+    private final String goals;
+
+    public DeltaResponse(String epoch, long version, List<EntityResponse> added, List<EntityResponse> changed,
+            List<String> removed, List<ItemResponse> inventory, List<BattleResponse> battles, List<String> buildables,
+            String goals) {
+        this(epoch, version, null, added, changed, removed, inventory, battles, buildables, goals);
+    }
+
+    private DeltaResponse(String epoch, long version, DungeonResponse full, List<EntityResponse> added,
+            List<EntityResponse> changed, List<String> removed, List<ItemResponse> inventory,
+            List<BattleResponse> battles, List<String> buildables, String goals) {
+        this.epoch = epoch;
+        this.version = version;
+        this.full = full;
+        this.added = added;
+        this.changed = changed;
+        this.removed = removed;
+        this.inventory = inventory;
+        this.battles = battles;
+        this.buildables = buildables;
+        this.goals = goals;
+    }
+
+    public static DeltaResponse full(String epoch, long version, DungeonResponse full) {
+        return new DeltaResponse(epoch, version, full, null, null, null, null, null, null, null);
+    }
+
+    public final String getEpoch() {
+        return epoch;
+    }
+
+    public final long getVersion() {
+        return version;
+    }
+
+    public final boolean isFull() {
+        return full != null;
+    }
+
+    public final DungeonResponse getFull() {
+        return full;
+    }
+
+    public final List<EntityResponse> getAdded() {
+        return added;
+    }
+
+    public final List<EntityResponse> getChanged() {
+        return changed;
+    }
+
+    public final List<String> getRemoved() {
+        return removed;
+    }
+
+    public final List<ItemResponse> getInventory() {
+        return inventory;
+    }
+
+    public final List<BattleResponse> getBattles() {
+        return battles;
+    }
+
+    public final List<String> getBuildables() {
+        return buildables;
+    }
+
+    public final String getGoals() {
+        return goals;
+    }
+
+    /**
+     * Computes every section of the full snapshot, if this is one
+     * @throws IllegalStateException if the dungeon changed before the snapshot was computed
+     */
+    @Override
+    public void materialise() throws IllegalStateException {
+        if (full != null) {
+            full.materialise();
+        }
+    }
+}
@@ -2,17 +2,29 @@ package dungeonmania.response.models;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
-public final class DungeonResponse {
+public final class DungeonResponse implements LazyResponse {
     private final String dungeonId;
     private final String dungeonName;
-    private final List<EntityResponse> entities;
-    private final List<ItemResponse> inventory;
-    private final List<BattleResponse> battles;
-    private final List<String> buildables;
-    private final String goals;
+    private List<EntityResponse> entities;
+    private List<ItemResponse> inventory;
+    private List<BattleResponse> battles;
+    private List<String> buildables;
+    private String goals;
     private final List<AnimationQueue> animations;
 
+    // sections of a lazy response that have not been read yet, null once computed
+    private transient Supplier<List<EntityResponse>> entitiesSource;
+    private transient Supplier<List<ItemResponse>> inventorySource;
+    private transient Supplier<List<BattleResponse>> battlesSource;
+    private transient Supplier<List<String>> buildablesSource;
+    private transient Supplier<String> goalsSource;
+    // the world version the lazy response was built at, and the owner's current version
+    private transient long version;
+    private transient LongSupplier currentVersion;
+
     public DungeonResponse(String dungeonId, String dungeonName, List<EntityResponse> entities,
             List<ItemResponse> inventory, List<BattleResponse> battles, List<String> buildables, String goals) {
         this(dungeonId, dungeonName, entities, inventory, battles, buildables, goals, new ArrayList<>());
@@ -31,6 +43,69 @@ public final class DungeonResponse {
         this.animations = animations;
     }
 
+    /**
+     * Makes a response whose sections are computed the first time they are read, then kept.
+     * The sources read the live dungeon, so a section not read before the dungeon changes can no longer be read:
+     * reading it throws, and isStale tells beforehand. Call materialise to keep every section.
+     * @param version - the world version the response is built at
+     * @param currentVersion - the owner's world version, which goes up every time the dungeon may change
+     */
+    public static DungeonResponse lazy(String dungeonId, String dungeonName,
+            Supplier<List<EntityResponse>> entities, Supplier<List<ItemResponse>> inventory,
+            Supplier<List<BattleResponse>> battles, Supplier<List<String>> buildables, Supplier<String> goals,
+            long version, LongSupplier currentVersion) {
+        DungeonResponse response = new DungeonResponse(dungeonId, dungeonName, null, null, null, null, null);
+        response.version = version;
+        response.currentVersion = currentVersion;
+        response.entitiesSource = entities;
+        response.inventorySource = inventory;
+        response.battlesSource = battles;
+        response.buildablesSource = buildables;
+        response.goalsSource = goals;
+        return response;
+    }
+
+    /**
+     * Computes every section not read yet, after which the response no longer reads the dungeon
+     * @throws IllegalStateException if the response is stale
+     */
+    @Override
+    public synchronized void materialise() throws IllegalStateException {
+        getEntities();
+        getInventory();
+        getBattles();
+        getBuildables();
+        getGoals();
+    }
+
+    /**
+     * Gets version
+     * @return the world version a lazy response was built at, 0 for other responses
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks if stale
+     * @return true if the dungeon has changed since the response was built and some section was never read
+     */
+    public synchronized boolean isStale() {
+        boolean unread = entitiesSource != null || inventorySource != null || battlesSource != null
+            || buildablesSource != null || goalsSource != null;
+        return unread && currentVersion.getAsLong() != version;
+    }
+
+    /**
+     * Checks that an unread section still shows the dungeon the response was built for
+     */
+    private void checkCurrent() throws IllegalStateException {
+        if (currentVersion.getAsLong() != version) {
+            throw new IllegalStateException("The dungeon has changed since version " + version
+                + ", get a new response");
+        }
+    }
+
     public List<AnimationQueue> getAnimations() {
         return animations;
     }
@@ -39,19 +114,39 @@ public final class DungeonResponse {
         return dungeonName;
     }
 
-    public final List<ItemResponse> getInventory() {
+    public final synchronized List<ItemResponse> getInventory() {
+        if (inventorySource != null) {
+            checkCurrent();
+            inventory = inventorySource.get();
+            inventorySource = null;
+        }
         return inventory;
     }
 
-    public final List<BattleResponse> getBattles(){
+    public final synchronized List<BattleResponse> getBattles(){
+        if (battlesSource != null) {
+            checkCurrent();
+            battles = battlesSource.get();
+            battlesSource = null;
+        }
         return battles;
     }
 
-    public final List<String> getBuildables() {
+    public final synchronized List<String> getBuildables() {
+        if (buildablesSource != null) {
+            checkCurrent();
+            buildables = buildablesSource.get();
+            buildablesSource = null;
+        }
         return buildables;
     }
 
-    public final String getGoals() {
+    public final synchronized String getGoals() {
+        if (goalsSource != null) {
+            checkCurrent();
+            goals = goalsSource.get();
+            goalsSource = null;
+        }
         return goals;
     }
 
@@ -59,7 +154,12 @@ public final class DungeonResponse {
         return dungeonId;
     }
 
-    public final List<EntityResponse> getEntities() {
+    public final synchronized List<EntityResponse> getEntities() {
+        if (entitiesSource != null) {
+            checkCurrent();
+            entities = entitiesSource.get();
+            entitiesSource = null;
+        }
         return entities;
     }
 }
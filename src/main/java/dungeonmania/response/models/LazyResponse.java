@@ -0,0 +1,13 @@
+package dungeonmania.response.models;
+
+/**
+ * A response that may still read the live dungeon the first time its sections are read.
+ * Materialise it while nothing else can change the dungeon, e.g. under the session's lock.
+ */
+public interface LazyResponse {
+    /**
+     * Computes every section not read yet, after which the response no longer reads the dungeon
+     * @throws IllegalStateException if the dungeon changed before an unread section was computed
+     */
+    public void materialise() throws IllegalStateException;
+}
@@ -0,0 +1,40 @@
+package dungeonmania.response.models;
+
+import java.io.IOException;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Lets gson write lazy DungeonResponses, which it would otherwise read field by field before they are computed.
+ * Every section is materialised, then the response is written as usual. The server materialises responses
+ * under the session's lock before they get here, see DungeonManiaController.respond.
+ */
+public class LazyResponseAdapterFactory implements TypeAdapterFactory {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != DungeonResponse.class) {
+            return null;
+        }
+        TypeAdapter<DungeonResponse> delegate = gson.getDelegateAdapter(this, TypeToken.get(DungeonResponse.class));
+        return (TypeAdapter<T>) new TypeAdapter<DungeonResponse>() {
+            @Override
+            public void write(JsonWriter out, DungeonResponse response) throws IOException {
+                if (response != null) {
+                    response.materialise();
+                }
+                delegate.write(out, response);
+            }
+
+            @Override
+            public DungeonResponse read(JsonReader in) throws IOException {
+                return delegate.read(in);
+            }
+        };
+    }
+}
@@ -0,0 +1,298 @@
+package dungeonmania.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.json.JSONObject;
+
+import dungeonmania.SerializableJSONObject;
+import dungeonmania.dynamic_entity.player.Loadout;
+import dungeonmania.util.FileLoader;
+
+/**
+ * Fights battles without a dungeon, to see how a config plays out.
+ *      - Follows the rules of BattleRecord and Loadout, and deals damage with Loadout's formulas: modifiers keep
+ *          their last value once their items break, midnight armour is applied again every round, and a Hydra may
+ *          heal instead of taking damage.
+ *      - The player starts with fresh equipment. Items of a kind share a durability, so they break together.
+ *      - Trials are split into chunks fought on a fork-join pool. Each chunk has its own random stream seeded
+ *          from the seed and the chunk's index, so results only depend on the seed, not on the pool.
+ *      - Only a Hydra's battles are random. Against other enemies one battle is fought and counted for every trial.
+ */
+public class BattleSimulator {
+    static final int CHUNK_SIZE = 1 << 14;
+    // stops battles no one can win, e.g. a Hydra healing faster than a shielded player hurts it
+    public static final int MAX_ROUNDS = 1 << 20;
+
+    private final SerializableJSONObject config;
+
+    /**
+     * The items the player fights with
+     */
+    public static final class Equipment {
+        private final int swords;
+        private final int bows;
+        private final int shields;
+        private final int midnightArmours;
+
+        /**
+         * Equipment Constructor
+         * @param swords
+         * @param bows
+         * @param shields
+         * @param midnightArmours
+         * @throws IllegalArgumentException if any count is negative
+         */
+        public Equipment(int swords, int bows, int shields, int midnightArmours) throws IllegalArgumentException {
+            if (swords < 0 || bows < 0 || shields < 0 || midnightArmours < 0) {
+                throw new IllegalArgumentException("Item counts cannot be negative");
+            }
+            this.swords = swords;
+            this.bows = bows;
+            this.shields = shields;
+            this.midnightArmours = midnightArmours;
+        }
+    }
+
+    /**
+     * BattleSimulator Constructor
+     * @param config - the config to fight with
+     */
+    public BattleSimulator(SerializableJSONObject config) {
+        this.config = config;
+    }
+
+    /**
+     * Makes a simulator for a config file
+     * @param configName - the name of a file in /configs
+     * @return the simulator
+     * @throws IllegalArgumentException if the config does not exist
+     */
+    public static BattleSimulator fromConfig(String configName) throws IllegalArgumentException {
+        try {
+            return new BattleSimulator(new SerializableJSONObject(
+                new JSONObject(FileLoader.loadResourceFile("/configs/" + configName + ".json"))));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("No config " + configName);
+        }
+    }
+
+    /**
+     * Makes a simulator with one config value changed, e.g. for sweeping a grid of values
+     * @param key
+     * @param value
+     * @return a new simulator, this one is unchanged
+     */
+    public BattleSimulator with(String key, Object value) {
+        SerializableJSONObject changed = new SerializableJSONObject(new JSONObject());
+        changed.putAll(config);
+        changed.put(key, value);
+        return new BattleSimulator(changed);
+    }
+
+    /**
+     * Simulates battles on the common fork-join pool
+     * @param enemyType - spider, zombie_toast, mercenary, assassin or hydra
+     * @param equipment
+     * @param trials
+     * @param seed
+     * @return the outcome of the battles
+     * @throws IllegalArgumentException if the enemy type is unknown, its stats are missing or trials is negative
+     */
+    public SimulationResult simulate(String enemyType, Equipment equipment, long trials, long seed)
+            throws IllegalArgumentException {
+        return simulate(enemyType, equipment, trials, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Simulates battles
+     * @param enemyType - spider, zombie_toast, mercenary, assassin or hydra
+     * @param equipment
+     * @param trials
+     * @param seed
+     * @param pool - the pool to fight on
+     * @return the outcome of the battles
+     * @throws IllegalArgumentException if the enemy type is unknown, its stats are missing or trials is negative
+     */
+    public SimulationResult simulate(String enemyType, Equipment equipment, long trials, long seed, ForkJoinPool pool)
+            throws IllegalArgumentException {
+        if (trials < 0) {
+            throw new IllegalArgumentException("Trials cannot be negative");
+        }
+        Battle battle = new Battle(enemyType, equipment);
+        if (trials == 0) {
+            return new SimulationResult();
+        }
+        if (battle.healRate <= 0) {
+            SimulationResult result = new SimulationResult();
+            battle.fight(null, result, trials);
+            return result;
+        }
+        long chunks = (trials + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return pool.invoke(new Chunks(battle, trials, 0, chunks, seed));
+    }
+
+    /**
+     * Fights a range of chunks, splitting it while it is bigger than one chunk
+     */
+    private static class Chunks extends RecursiveTask<SimulationResult> {
+        private final Battle battle;
+        private final long trials;
+        private final long from;
+        private final long to;
+        private final long seed;
+
+        private Chunks(Battle battle, long trials, long from, long to, long seed) {
+            this.battle = battle;
+            this.trials = trials;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from == 1) {
+                SplittableRandom random = new SplittableRandom(seed ^ (from * 0x9E3779B97F4A7C15L));
+                SimulationResult result = new SimulationResult();
+                long end = Math.min(trials, (from + 1) * CHUNK_SIZE);
+                for (long i = from * CHUNK_SIZE; i < end; i++) {
+                    battle.fight(random, result, 1);
+                }
+                return result;
+            }
+            long mid = (from + to) >>> 1;
+            Chunks left = new Chunks(battle, trials, from, mid, seed);
+            left.fork();
+            SimulationResult right = new Chunks(battle, trials, mid, to, seed).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * The stats of one matchup, read from the config once
+     */
+    private class Battle {
+        private final double playerAttack;
+        private final double playerHealth;
+        private final double enemyAttack;
+        private final double enemyHealth;
+        private final double healRate;
+        private final double healAmount;
+
+        private final int swords;
+        private final int bows;
+        private final int shields;
+        private final int armours;
+        private final int swordAttack;
+        private final int shieldDefence;
+        private final double armourAttack;
+        private final double armourDefence;
+        private final int swordDurability;
+        private final int bowDurability;
+        private final int shieldDurability;
+
+        private Battle(String enemyType, Equipment equipment) throws IllegalArgumentException {
+            String prefix;
+            switch (enemyType) {
+                case "spider":
+                case "mercenary":
+                case "assassin":
+                case "hydra":
+                    prefix = enemyType;
+                    break;
+                case "zombie_toast":
+                    prefix = "zombie";
+                    break;
+                default:
+                    throw new IllegalArgumentException("No enemy " + enemyType);
+            }
+            try {
+                playerAttack = config.getDouble("player_attack");
+                playerHealth = config.getDouble("player_health");
+                enemyAttack = config.getDouble(prefix + "_attack");
+                enemyHealth = config.getDouble(prefix + "_health");
+                boolean hydra = enemyType.equals("hydra");
+                healRate = hydra ? config.getDouble("hydra_health_increase_rate") : 0;
+                healAmount = hydra ? config.getDouble("hydra_health_increase_amount") : 0;
+
+                swords = equipment.swords;
+                bows = equipment.bows;
+                shields = equipment.shields;
+                armours = equipment.midnightArmours;
+                swordAttack = swords > 0 ? config.getInt("sword_attack") : 0;
+                swordDurability = swords > 0 ? config.getInt("sword_durability") : 0;
+                bowDurability = bows > 0 ? config.getInt("bow_durability") : 0;
+                shieldDefence = shields > 0 ? config.getInt("shield_defence") : 0;
+                shieldDurability = shields > 0 ? config.getInt("shield_durability") : 0;
+                armourAttack = armours > 0 ? config.getDouble("midnight_armour_attack") : 0;
+                armourDefence = armours > 0 ? config.getDouble("midnight_armour_defence") : 0;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("The config is missing stats for this battle");
+            }
+        }
+
+        /**
+         * Fights one battle and records it
+         * @param random - only used if the enemy can heal
+         * @param result
+         * @param times - the number of trials the battle stands for
+         */
+        private void fight(SplittableRandom random, SimulationResult result, long times) {
+            double attack = playerAttack;
+            double enemyAttack = this.enemyAttack;
+            double health = playerHealth;
+            double enemyHealth = this.enemyHealth;
+            int swordsLeft = swords;
+            int bowsLeft = bows;
+            int shieldsLeft = shields;
+            int swordWear = swordDurability;
+            int bowWear = bowDurability;
+            int shieldWear = shieldDurability;
+            double swordAdd = 0;
+            double bowModifier = 1;
+            double shieldMinus = 0;
+
+            int rounds = 0;
+            while (enemyHealth > 0 && health > 0 && rounds < MAX_ROUNDS) {
+                if (swordsLeft > 0) {
+                    swordAdd = swordsLeft * swordAttack;
+                }
+                if (bowsLeft > 0) {
+                    bowModifier = bowsLeft + 1;
+                }
+                if (shieldsLeft > 0) {
+                    shieldMinus = shieldsLeft * shieldDefence;
+                }
+                if (armours > 0) {
+                    enemyAttack -= armourDefence * armours;
+                    attack += armourAttack * armours;
+                }
+                double damage = Loadout.playerDamage(attack, swordAdd, bowModifier);
+                double enemyDamage = Loadout.enemyDamage(enemyAttack, shieldMinus);
+                if (healRate > 0 && random.nextDouble() < healRate) {
+                    enemyHealth = enemyHealth + healAmount;
+                } else {
+                    enemyHealth = enemyHealth - damage;
+                }
+                health = health - enemyDamage;
+                rounds++;
+
+                // items only break when their durability reaches exactly 0
+                if (swordsLeft > 0 && --swordWear == 0) {
+                    swordsLeft = 0;
+                }
+                if (bowsLeft > 0 && --bowWear == 0) {
+                    bowsLeft = 0;
+                }
+                if (shieldsLeft > 0 && --shieldWear == 0) {
+                    shieldsLeft = 0;
+                }
+            }
+            boolean finished = enemyHealth <= 0 || health <= 0;
+            int left = health <= 0 ? 0 : (int) Math.min(1000, Math.floor(health / playerHealth * 1000));
+            result.record(enemyHealth <= 0 && health > 0, finished, rounds, left, times);
+        }
+    }
+}
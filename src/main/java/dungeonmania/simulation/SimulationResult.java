@@ -0,0 +1,164 @@
+package dungeonmania.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of many simulated battles.
+ *      - Rounds are counted exactly, in a histogram indexed by the number of rounds. Battles of ROUND_BUCKETS
+ *          rounds or more, e.g. those stopped at BattleSimulator.MAX_ROUNDS, are only counted together.
+ *      - The player's health left is kept in tenths of a percent of their starting health, so percentiles
+ *          are exact to 0.1%. A lost battle leaves 0%.
+ */
+public class SimulationResult {
+    static final int HEALTH_BUCKETS = 1001;
+    public static final int ROUND_BUCKETS = 1 << 10;
+
+    private long trials = 0;
+    private long wins = 0;
+    private long unfinished = 0;
+    private long[] roundCounts = new long[64];
+    private long longBattles = 0;
+    private double totalRounds = 0;
+    private int maxRounds = 0;
+    private final long[] healthLeft = new long[HEALTH_BUCKETS];
+
+    /**
+     * Records battles that all ended the same way
+     * @param won - true if the player won
+     * @param finished - false if the battle was stopped at the round limit
+     * @param rounds - the number of rounds fought
+     * @param healthLeft - the player's health left in tenths of a percent, 0 to 1000
+     * @param times - the number of battles
+     */
+    void record(boolean won, boolean finished, int rounds, int healthLeft, long times) {
+        trials += times;
+        if (won) {
+            wins += times;
+        }
+        if (!finished) {
+            unfinished += times;
+        }
+        if (rounds >= ROUND_BUCKETS) {
+            longBattles += times;
+        } else {
+            if (rounds >= roundCounts.length) {
+                roundCounts = Arrays.copyOf(roundCounts,
+                    Math.min(ROUND_BUCKETS, Math.max(rounds + 1, roundCounts.length * 2)));
+            }
+            roundCounts[rounds] += times;
+        }
+        totalRounds += (double) rounds * times;
+        maxRounds = Math.max(maxRounds, rounds);
+        this.healthLeft[healthLeft] += times;
+    }
+
+    /**
+     * Adds the battles of another result to this one
+     * @param other
+     * @return this result
+     */
+    SimulationResult merge(SimulationResult other) {
+        trials += other.trials;
+        wins += other.wins;
+        unfinished += other.unfinished;
+        if (other.roundCounts.length > roundCounts.length) {
+            roundCounts = Arrays.copyOf(roundCounts, other.roundCounts.length);
+        }
+        for (int i = 0; i < other.roundCounts.length; i++) {
+            roundCounts[i] += other.roundCounts[i];
+        }
+        longBattles += other.longBattles;
+        totalRounds += other.totalRounds;
+        maxRounds = Math.max(maxRounds, other.maxRounds);
+        for (int i = 0; i < HEALTH_BUCKETS; i++) {
+            healthLeft[i] += other.healthLeft[i];
+        }
+        return this;
+    }
+
+    /**
+     * Gets trials
+     * @return the number of battles simulated
+     */
+    public long getTrials() {
+        return trials;
+    }
+
+    /**
+     * Gets wins
+     * @return the number of battles the player won
+     */
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * Gets unfinished
+     * @return the number of battles stopped at the round limit, counted as neither won nor lost
+     */
+    public long getUnfinished() {
+        return unfinished;
+    }
+
+    /**
+     * Gets win probability
+     * @return the share of battles the player won, or 0 if none were simulated
+     */
+    public double getWinProbability() {
+        return trials == 0 ? 0 : (double) wins / trials;
+    }
+
+    /**
+     * Gets the number of battles that took a number of rounds
+     * @param rounds
+     * @return how many battles lasted exactly rounds, or 0 past the histogram, see getLongBattles
+     */
+    public long getRoundCount(int rounds) {
+        return rounds < 0 || rounds >= roundCounts.length ? 0 : roundCounts[rounds];
+    }
+
+    /**
+     * Gets long battles
+     * @return the number of battles that lasted ROUND_BUCKETS rounds or more
+     */
+    public long getLongBattles() {
+        return longBattles;
+    }
+
+    /**
+     * Gets max rounds
+     * @return the most rounds any battle lasted
+     */
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    /**
+     * Gets mean rounds
+     * @return the mean number of rounds, or 0 if no battles were simulated
+     */
+    public double getMeanRounds() {
+        return trials == 0 ? 0 : totalRounds / trials;
+    }
+
+    /**
+     * Gets a percentile of the player's health left
+     * @param percentile - 0 to 100
+     * @return the health left, as a percent of starting health, that percentile of battles end at or below
+     * @throws IllegalArgumentException if percentile is outside 0 to 100 or no battles were simulated
+     */
+    public double getHealthLeftPercentile(double percentile) throws IllegalArgumentException {
+        if (percentile < 0 || percentile > 100 || trials == 0) {
+            throw new IllegalArgumentException("Percentiles are between 0 and 100, of at least one battle");
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * trials));
+        long seen = 0;
+        for (int i = 0; i < HEALTH_BUCKETS; i++) {
+            seen += healthLeft[i];
+            if (seen >= rank) {
+                return i / 10.0;
+            }
+        }
+        return 100;
+    }
+}
@@ -1,12 +1,13 @@
 package dungeonmania.static_entity;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import dungeonmania.Entity;
+import dungeonmania.EntityRegistry;
 import dungeonmania.SerializableJSONObject;
+import dungeonmania.TileMap;
+import dungeonmania.util.Direction;
 import dungeonmania.util.Position;
 
 public class ActiveBomb extends StaticEntity{
@@ -28,6 +29,15 @@ public class ActiveBomb extends StaticEntity{
     public boolean collide(Entity entity) {
         return false;
     }
+
+    /**
+     * Gets tile flags
+     * @return TileMap.BOMB
+     */
+    @Override
+    public int getTileFlags() {
+        return TileMap.BOMB;
+    }
     
     /**
      * Gets type
@@ -38,35 +48,59 @@ public class ActiveBomb extends StaticEntity{
         return "bomb";
     }
 
+    /**
+     * Checks if the bomb is set off where it lies
+     * @param registry
+     * @return true if an active switch is cardinally adjacent to the bomb
+     */
+    public boolean isTriggered(EntityRegistry registry) {
+        for (Direction direction : Direction.values()) {
+            for (Entity entity : registry.getEntitiesAt(getPosition().translateBy(direction))) {
+                if (entity instanceof FloorSwitch && ((FloorSwitch) entity).getActive()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Explode the bomb
-     * @param entities
+     * @param registry
      * @param config
-     * @return update of current entities
+     * @return the bomb and every entity other than the player in its blast, which may include other bombs
      */
-    public List<Entity> explode(List<Entity> entities, SerializableJSONObject config) {
+    public List<Entity> explode(EntityRegistry registry, SerializableJSONObject config) {
         int radius = config.getInt("bomb_radius");
         List<Entity> toRemove = new ArrayList<>();
         toRemove.add(this);
-        Map<Position, Boolean> copy = new HashMap<Position, Boolean>();
         Position a = getPosition();
-        Position Top_Left = new Position(a.getX() - radius,a.getY() + radius);
-        Position Pointer = Top_Left;
 
-        for (int y = 0; y <= 2*radius; y++) {
-            for (int x = 0; x <= 2*radius; x++) {
-                copy.put(new Position(Pointer.getX(),Pointer.getY()), true);
-                Pointer = new Position(Pointer.getX() + 1,Pointer.getY());
+        long area = (2L * radius + 1) * (2L * radius + 1);
+        if (area > registry.getEntities().size()) {
+            // a blast larger than the dungeon is cheaper to check entity by entity
+            for (Entity entity : registry.getEntities()) {
+                Position p = entity.getPosition();
+                if (entity != this && !entity.getType().equals("player")
+                    && Math.abs(p.getX() - a.getX()) <= radius && Math.abs(p.getY() - a.getY()) <= radius) {
+                    toRemove.add(entity);
+                }
             }
-            Pointer = new Position(Top_Left.getX(),Pointer.getY() - 1);
+            return toRemove;
         }
 
-        for (Entity entity : entities) {
-            if (!entity.getType().equals("player") && copy.containsKey(entity.getPosition())) {
-                toRemove.add(entity);
+        List<Entity> tile = new ArrayList<>();
+        for (int y = a.getY() - radius; y <= a.getY() + radius; y++) {
+            for (int x = a.getX() - radius; x <= a.getX() + radius; x++) {
+                tile.clear();
+                registry.getEntitiesAt(new Position(x, y), tile);
+                for (Entity entity : tile) {
+                    if (entity != this && !entity.getType().equals("player")) {
+                        toRemove.add(entity);
+                    }
+                }
             }
         }
-
         return toRemove;
     }
 }
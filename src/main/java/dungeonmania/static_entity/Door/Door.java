@@ -1,6 +1,7 @@
 package dungeonmania.static_entity.Door;
 
 import dungeonmania.Entity;
+import dungeonmania.TileMap;
 import dungeonmania.collectible.Key;
 import dungeonmania.response.models.EntityResponse;
 import dungeonmania.static_entity.StaticEntity;
@@ -40,6 +41,15 @@ public class Door extends StaticEntity {
         return state.interact(entity);
     }
 
+    /**
+     * Gets tile flags
+     * @return TileMap.DOOR_CLOSED while the door is closed
+     */
+    @Override
+    public int getTileFlags() {
+        return state == closed ? TileMap.DOOR_CLOSED : 0;
+    }
+
     @Override 
     public EntityResponse getEntityResponse() {
         return new EntityResponse(getId(), (state == closed ? "door" : "door_open"), getPosition(), false);
@@ -90,6 +100,7 @@ public class Door extends StaticEntity {
      */
     public void setState(State state) {
         this.state = state;
+        refreshTile();
     }
 
     public void setKeyId(int keyId) {
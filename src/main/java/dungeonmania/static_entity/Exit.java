@@ -2,6 +2,7 @@ package dungeonmania.static_entity;
 
 import dungeonmania.DungeonManiaController;
 import dungeonmania.Entity;
+import dungeonmania.TileMap;
 import dungeonmania.dynamic_entity.Player;
 import dungeonmania.util.Position;
 
@@ -37,6 +38,15 @@ public class Exit extends StaticEntity {
         return true;
     }
     
+    /**
+     * Gets tile flags
+     * @return TileMap.EXIT
+     */
+    @Override
+    public int getTileFlags() {
+        return TileMap.EXIT;
+    }
+
     /**
      * Gets type
      * @return the type, i.e. "exit"
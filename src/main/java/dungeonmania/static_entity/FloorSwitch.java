@@ -1,7 +1,9 @@
 package dungeonmania.static_entity;
 
 import dungeonmania.Entity;
-import dungeonmania.SerializableJSONObject;
+import dungeonmania.EntityRegistry;
+import dungeonmania.TileMap;
+import dungeonmania.util.Direction;
 import dungeonmania.util.Position;
 
 import java.util.ArrayList;
@@ -53,6 +55,8 @@ public class FloorSwitch extends StaticEntity {
     public boolean collide(Entity entity) {
         if (entity.getType().equals("boulder")) {
             active = true;
+            // an adjacent bomb may now explode
+            wake();
         }
         else {
             active = false;
@@ -61,19 +65,29 @@ public class FloorSwitch extends StaticEntity {
     }
 
     /**
-     * Trigger bomb explosion
-     * @param entities
-     * @param config
-     * @return array of entities
+     * Gets the bombs this switch sets off
+     * @param registry
+     * @return the active bombs cardinally adjacent to the switch
      */
-    public List<Entity> activateNearby(List<Entity> entities, SerializableJSONObject config) {
-        for (Entity entity : entities) {
-            if (entity instanceof ActiveBomb && Position.isAdjacent(getPosition(), entity.getPosition())) {
-                ActiveBomb activeBomb = (ActiveBomb) entity;
-                return activeBomb.explode(entities, config);
+    public List<ActiveBomb> getAdjacentBombs(EntityRegistry registry) {
+        List<ActiveBomb> bombs = new ArrayList<>();
+        for (Direction direction : Direction.values()) {
+            for (Entity entity : registry.getEntitiesAt(getPosition().translateBy(direction))) {
+                if (entity instanceof ActiveBomb) {
+                    bombs.add((ActiveBomb) entity);
+                }
             }
         }
-        return new ArrayList<>();
+        return bombs;
+    }
+
+    /**
+     * Gets tile flags
+     * @return TileMap.SWITCH
+     */
+    @Override
+    public int getTileFlags() {
+        return TileMap.SWITCH;
     }
 
     /**
@@ -2,6 +2,7 @@ package dungeonmania.static_entity;
 
 import dungeonmania.DungeonManiaController;
 import dungeonmania.Entity;
+import dungeonmania.TileMap;
 import dungeonmania.dynamic_entity.Player;
 import dungeonmania.response.models.EntityResponse;
 import dungeonmania.util.Position;
@@ -75,6 +76,15 @@ public class Portal extends StaticEntity {
         return true;
     }
 
+    /**
+     * Gets tile flags
+     * @return TileMap.PORTAL
+     */
+    @Override
+    public int getTileFlags() {
+        return TileMap.PORTAL;
+    }
+
     /**
      * Gets type
      * @return the type, i.e. "portal"
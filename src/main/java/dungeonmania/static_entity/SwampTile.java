@@ -1,6 +1,7 @@
 package dungeonmania.static_entity;
 
 import dungeonmania.Entity;
+import dungeonmania.TileMap;
 import dungeonmania.dynamic_entity.DynamicEntity;
 import dungeonmania.util.Position;
 
@@ -27,10 +28,28 @@ public class SwampTile extends StaticEntity{
     
     @Override
     public boolean collide(Entity entity) {
+        return true;
+    }
+
+    /**
+     * Traps enemies that move onto the swamp tile
+     * @param entity
+     */
+    @Override
+    public void onEnter(Entity entity) {
         if (entity instanceof DynamicEntity && !entity.getType().equals("player")) {
             stuck = entity;
+            wake();
         }
-        return true;
+    }
+
+    /**
+     * Gets tile flags
+     * @return TileMap.SWAMP
+     */
+    @Override
+    public int getTileFlags() {
+        return TileMap.SWAMP;
     }
 
     @Override
@@ -38,6 +57,14 @@ public class SwampTile extends StaticEntity{
         return "swamp_tile";
     }
 
+    /**
+     * Checks if trapping
+     * @return true while an enemy is stuck, i.e. the swamp tile has work to do each tick
+     */
+    public boolean isTrapping() {
+        return stuck != null;
+    }
+
     public void tick() {
         if (movementTick == movementFactor) {
             stuck = null;
@@ -1,6 +1,7 @@
 package dungeonmania.static_entity;
 
 import dungeonmania.Entity;
+import dungeonmania.TileMap;
 import dungeonmania.util.Position;
 
 /**
@@ -31,6 +32,15 @@ public class Wall extends StaticEntity {
         return false;
     }
 
+    /**
+     * Gets tile flags
+     * @return TileMap.WALL
+     */
+    @Override
+    public int getTileFlags() {
+        return TileMap.WALL;
+    }
+
     /**
      * Gets type
      * @return the type, i.e. "wall"
@@ -2,6 +2,7 @@ package dungeonmania.static_entity;
 
 import dungeonmania.DungeonManiaController;
 import dungeonmania.Entity;
+import dungeonmania.TileMap;
 import dungeonmania.dynamic_entity.Player;
 import dungeonmania.dynamic_entity.Spider;
 import dungeonmania.exceptions.InvalidActionException;
@@ -16,7 +17,6 @@ import dungeonmania.util.Position;
 public class ZombieToastSpawner extends StaticEntity {
     private DungeonManiaController dungeon;
     private int spawnRate;
-    private int currentTick;
     private int zombieAttack;
     private int zombieHealth;
 
@@ -32,7 +32,6 @@ public class ZombieToastSpawner extends StaticEntity {
     public ZombieToastSpawner(DungeonManiaController dungeon, String id, Position xy, int spawnRate, int zombieAttack, int zombieHealth) {
         super(id, "zombie_toast_spawner", xy);
         this.dungeon = dungeon;
-        currentTick = 0;
         this.spawnRate = spawnRate;
         this.zombieAttack = zombieAttack;
         this.zombieHealth = zombieHealth;
@@ -46,7 +45,17 @@ public class ZombieToastSpawner extends StaticEntity {
      */
     @Override
     public void interact(Player player) throws InvalidActionException {
-        player.getPosition();
+        checkInteract(player);
+        dungeon.removeEntity(this.getId());
+    }
+
+    /**
+     * Checks that the player can destroy the spawner
+     * @param player
+     * @throws InvalidActionException if the player is not adjacent or has no weapon
+     */
+    @Override
+    public void checkInteract(Player player) throws InvalidActionException {
         // check cardinally adjacent
         if (!Position.isAdjacent(this.getPosition(), player.getPosition())) {
             throw new InvalidActionException("Not cardinally adjacent to spawner");
@@ -55,7 +64,6 @@ public class ZombieToastSpawner extends StaticEntity {
         else if (!player.hasSword()) {
             throw new InvalidActionException("Doesn't have a weapon");
         }
-        dungeon.removeEntity(this.getId());
     }
     
     @Override 
@@ -72,28 +80,35 @@ public class ZombieToastSpawner extends StaticEntity {
     }
     
     /**
-     * Tick for zombie_toast_spawner
+     * Wakes up every spawnRate ticks, spawners with a spawn rate of 0 never wake
+     */
+    @Override
+    protected void onAdded() {
+        if (spawnRate > 0) {
+            wakeIn(spawnRate);
+        }
+    }
+
+    /**
+     * Tick for zombie_toast_spawner, run when spawnRate ticks have passed
      */
     public void tick() {
-        currentTick += 1;
-        if (currentTick == spawnRate) {
-            currentTick = 0;
-            if (dungeon.checkStaticCollision(new Position(this.getPosition().getX() + 1, this.getPosition().getY())) == null) {
-                dungeon.spawnToast(zombieAttack, zombieHealth, new Position(this.getPosition().getX() + 1, this.getPosition().getY()));
-                return;
-            }
-            else if (dungeon.checkStaticCollision(new Position(this.getPosition().getX() - 1, this.getPosition().getY())) == null) {
-                dungeon.spawnToast(zombieAttack, zombieHealth, new Position(this.getPosition().getX() - 1, this.getPosition().getY()));
-                return;
-            }
-            else if (dungeon.checkStaticCollision(new Position(this.getPosition().getX(), this.getPosition().getY() + 1)) == null) {
-                dungeon.spawnToast(zombieAttack, zombieHealth, new Position(this.getPosition().getX(), this.getPosition().getY() + 1));
-                return;
-            }
-            else if (dungeon.checkStaticCollision(new Position(this.getPosition().getX(), this.getPosition().getY() - 1)) == null) {
-                dungeon.spawnToast(zombieAttack, zombieHealth, new Position(this.getPosition().getX(), this.getPosition().getY() - 1));
-                return;
-            }
+        wakeIn(spawnRate);
+        if (dungeon.checkStaticCollision(new Position(this.getPosition().getX() + 1, this.getPosition().getY())) == null) {
+            dungeon.spawnToast(zombieAttack, zombieHealth, new Position(this.getPosition().getX() + 1, this.getPosition().getY()));
+            return;
+        }
+        else if (dungeon.checkStaticCollision(new Position(this.getPosition().getX() - 1, this.getPosition().getY())) == null) {
+            dungeon.spawnToast(zombieAttack, zombieHealth, new Position(this.getPosition().getX() - 1, this.getPosition().getY()));
+            return;
+        }
+        else if (dungeon.checkStaticCollision(new Position(this.getPosition().getX(), this.getPosition().getY() + 1)) == null) {
+            dungeon.spawnToast(zombieAttack, zombieHealth, new Position(this.getPosition().getX(), this.getPosition().getY() + 1));
+            return;
+        }
+        else if (dungeon.checkStaticCollision(new Position(this.getPosition().getX(), this.getPosition().getY() - 1)) == null) {
+            dungeon.spawnToast(zombieAttack, zombieHealth, new Position(this.getPosition().getX(), this.getPosition().getY() - 1));
+            return;
         }
     }
 
@@ -105,4 +120,13 @@ public class ZombieToastSpawner extends StaticEntity {
     public boolean collide(Entity entity) {
         return entity instanceof Spider;
     }
+
+    /**
+     * Gets tile flags
+     * @return TileMap.SPAWNER
+     */
+    @Override
+    public int getTileFlags() {
+        return TileMap.SPAWNER;
+    }
 }
@@ -0,0 +1,21 @@
+package dungeonmania.tick;
+
+/**
+ * Parts of the world a tick system reads or writes, declared so the order of systems can be reasoned about.
+ */
+public enum Component {
+    /** The player's position and status */
+    PLAYER,
+    /** The player's items, potions and built items */
+    INVENTORY,
+    /** Positions, health and allegiance of enemies */
+    ENEMIES,
+    /** Boulders, doors, swamps and other tiles that affect movement */
+    TERRAIN,
+    /** Zombie toast spawners and the spider spawner */
+    SPAWNERS,
+    /** Placed bombs and floor switches */
+    BOMBS,
+    /** The battle records */
+    BATTLES
+}
@@ -0,0 +1,58 @@
+package dungeonmania.tick;
+
+import dungeonmania.util.Direction;
+
+/**
+ * State of one tick, passed to every system of a TickPipeline.
+ */
+public class TickContext {
+    private final Direction direction;
+    private boolean halted = false;
+    private boolean enemiesMoved = false;
+
+    /**
+     * TickContext Constructor
+     * @param direction - the player's movement, or null for a tick where an item is used
+     */
+    public TickContext(Direction direction) {
+        this.direction = direction;
+    }
+
+    /**
+     * Gets direction
+     * @return the player's movement, or null if an item was used instead
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Stops the tick, no further systems run (e.g. the player died)
+     */
+    public void halt() {
+        halted = true;
+    }
+
+    /**
+     * Notes that enemies have moved this tick
+     */
+    public void enemiesMoved() {
+        enemiesMoved = true;
+    }
+
+    /**
+     * Checks if enemies have moved
+     * @return true if enemies have moved this tick
+     */
+    public boolean haveEnemiesMoved() {
+        return enemiesMoved;
+    }
+
+    /**
+     * Checks if halted
+     * @return true if a system stopped the tick
+     */
+    public boolean isHalted() {
+        return halted;
+    }
+}
@@ -0,0 +1,20 @@
+package dungeonmania.tick;
+
+/**
+ * Timing hook, told about every system of a tick as it runs or is skipped.
+ */
+public interface TickListener {
+    /**
+     * Called after a system has run
+     * @param system - name of the system
+     * @param nanos - time the system took
+     */
+    void systemRan(String system, long nanos);
+
+    /**
+     * Called when a system is skipped because it has nothing to do
+     * @param system - name of the system
+     */
+    default void systemSkipped(String system) {
+    }
+}
@@ -0,0 +1,50 @@
+package dungeonmania.tick;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ordered systems that make up a tick. Systems may be shared between pipelines, and one system may appear
+ * more than once (e.g. battles are checked both before and after enemies move).
+ */
+public class TickPipeline {
+    private final List<TickSystem> systems;
+
+    /**
+     * TickPipeline Constructor
+     * @param systems - in the order they run
+     */
+    public TickPipeline(List<TickSystem> systems) {
+        this.systems = Collections.unmodifiableList(new ArrayList<>(systems));
+    }
+
+    /**
+     * Gets systems
+     * @return the systems, in the order they run
+     */
+    public List<TickSystem> getSystems() {
+        return systems;
+    }
+
+    /**
+     * Runs each active system in order, until one halts the tick
+     * @param context
+     * @param listeners - told how long each system took, or that it was skipped
+     */
+    public void run(TickContext context, List<TickListener> listeners) {
+        for (TickSystem system : systems) {
+            if (context.isHalted()) {
+                return;
+            }
+            if (!system.isActive(context)) {
+                listeners.forEach(l -> l.systemSkipped(system.getName()));
+                continue;
+            }
+            long start = System.nanoTime();
+            system.run(context);
+            long nanos = System.nanoTime() - start;
+            listeners.forEach(l -> l.systemRan(system.getName(), nanos));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package dungeonmania.tick;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * One named phase of a tick, e.g. moving enemies or ticking spawners.
+ *      - Declares the components it reads and writes.
+ *      - Is skipped when its activity check says it has nothing to do this tick (e.g. no swamp tiles).
+ */
+public class TickSystem {
+    private final String name;
+    private final Set<Component> reads;
+    private final Set<Component> writes;
+    private final Predicate<TickContext> active;
+    private final Consumer<TickContext> action;
+
+    /**
+     * TickSystem Constructor
+     * @param name
+     * @param reads - components the system reads
+     * @param writes - components the system changes
+     * @param active - whether the system has anything to do this tick
+     * @param action - the work of the system
+     */
+    public TickSystem(String name, Set<Component> reads, Set<Component> writes,
+            Predicate<TickContext> active, Consumer<TickContext> action) {
+        this.name = name;
+        this.reads = Collections.unmodifiableSet(reads.isEmpty() ? EnumSet.noneOf(Component.class) : EnumSet.copyOf(reads));
+        this.writes = Collections.unmodifiableSet(writes.isEmpty() ? EnumSet.noneOf(Component.class) : EnumSet.copyOf(writes));
+        this.active = active;
+        this.action = action;
+    }
+
+    /**
+     * Gets name
+     * @return the name of the system
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets reads
+     * @return the components the system reads
+     */
+    public Set<Component> getReads() {
+        return reads;
+    }
+
+    /**
+     * Gets writes
+     * @return the components the system changes
+     */
+    public Set<Component> getWrites() {
+        return writes;
+    }
+
+    /**
+     * Checks whether this system must run after another, i.e. one writes what the other reads or writes
+     * @param other
+     * @return true if swapping the two systems could change the outcome of a tick
+     */
+    public boolean dependsOn(TickSystem other) {
+        return !Collections.disjoint(reads, other.writes) || !Collections.disjoint(writes, other.reads)
+                || !Collections.disjoint(writes, other.writes);
+    }
+
+    /**
+     * Checks for work
+     * @param context
+     * @return true if the system has anything to do this tick
+     */
+    public boolean isActive(TickContext context) {
+        return active.test(context);
+    }
+
+    /**
+     * Runs the system
+     * @param context
+     */
+    public void run(TickContext context) {
+        action.accept(context);
+    }
+}
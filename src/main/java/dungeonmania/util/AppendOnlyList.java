@@ -0,0 +1,86 @@
+package dungeonmania.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * List that can only grow at the end, so any prefix of it never changes.
+ *      - A snapshot is a read-only view of the elements present when it was taken, it costs nothing to take
+ *          and stays valid however much the list grows afterwards.
+ * @param <T> the element type
+ */
+public class AppendOnlyList<T> {
+    private Object[] elements = new Object[8];
+    private int size = 0;
+
+    /**
+     * Adds an element at the end
+     * @param element
+     */
+    public void add(T element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = element;
+    }
+
+    /**
+     * Gets size
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets an element
+     * @param index
+     * @return the element at index
+     * @throws IndexOutOfBoundsException if index is not below size
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (T) elements[index];
+    }
+
+    /**
+     * Takes a snapshot of the elements from an index to the current end
+     * @param from
+     * @return a read-only view of those elements
+     * @throws IndexOutOfBoundsException if from is negative or above size
+     */
+    public List<T> snapshot(int from) throws IndexOutOfBoundsException {
+        if (from < 0 || from > size) {
+            throw new IndexOutOfBoundsException(from);
+        }
+        return new Snapshot(from, size);
+    }
+
+    private class Snapshot extends AbstractList<T> implements RandomAccess {
+        private final int from;
+        private final int to;
+
+        private Snapshot(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return AppendOnlyList.this.get(from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package dungeonmania.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Open addressing hash map from primitive long keys, such as Position.pack(x, y), to values.
+ *      - Linear probing over a power of two table, deletions shift the following run back so no tombstones are left.
+ *      - Keys are never boxed and lookups do not allocate.
+ *      - Values may not be null, a null slot is an empty slot.
+ * @param <V> the value type
+ */
+public class LongMap<V> implements Serializable {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int size = 0;
+    private int mask;
+    private int shift;
+
+    /**
+     * LongMap Constructor
+     */
+    public LongMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Gets size
+     * @return the number of keys in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if empty
+     * @return true if the map has no keys
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks for a key
+     * @param key
+     * @return true if key is in the map
+     */
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Gets a value
+     * @param key
+     * @return the value for key, or null if key is not in the map
+     */
+    public V get(long key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Gets a value
+     * @param key
+     * @param defaultValue
+     * @return the value for key, or defaultValue if key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(long key, V defaultValue) {
+        int slot = find(key);
+        return slot < 0 ? defaultValue : (V) values[slot];
+    }
+
+    /**
+     * Puts a value
+     * @param key
+     * @param value - must not be null
+     * @return the previous value for key, or null
+     * @throws IllegalArgumentException if value is null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) throws IllegalArgumentException {
+        if (value == null) {
+            throw new IllegalArgumentException("LongMap values cannot be null");
+        }
+        int slot = find(key);
+        if (slot >= 0) {
+            V previous = (V) values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        insert(key, value);
+        return null;
+    }
+
+    /**
+     * Gets a value, creating it if key is not in the map
+     * @param key
+     * @param create - makes the value for key, must not return null
+     * @return the value for key
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, LongFunction<V> create) {
+        int slot = find(key);
+        if (slot >= 0) {
+            return (V) values[slot];
+        }
+        V value = create.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Removes a key
+     * @param key
+     * @return the value that was removed, or null if key was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        delete(slot);
+        return previous;
+    }
+
+    /**
+     * Removes all keys
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int find(long key) {
+        for (int slot = slotOf(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long key, Object value) {
+        if ((size + 1) * 4 > keys.length * 3) {
+            grow();
+        }
+        int slot = slotOf(key);
+        while (values[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    private void delete(int hole) {
+        values[hole] = null;
+        size--;
+        // shift back later members of the run that would no longer be found past the hole
+        for (int slot = (hole + 1) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            int home = slotOf(keys[slot]);
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                values[slot] = null;
+                hole = slot;
+            }
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slotOf(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+}
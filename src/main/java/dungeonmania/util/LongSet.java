@@ -0,0 +1,148 @@
+package dungeonmania.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Open addressing hash set of primitive long keys, such as Position.pack(x, y).
+ * Uses the same table layout as LongMap, with an occupancy array in place of the values.
+ */
+public class LongSet implements Serializable {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private boolean[] used;
+    private int size = 0;
+    private int mask;
+    private int shift;
+
+    /**
+     * LongSet Constructor
+     */
+    public LongSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * LongSet Constructor
+     * @param expected - number of keys the set should hold without growing
+     */
+    public LongSet(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 < expected * 4) {
+            capacity *= 2;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Gets size
+     * @return the number of keys in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if empty
+     * @return true if the set has no keys
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks for a key
+     * @param key
+     * @return true if key is in the set
+     */
+    public boolean contains(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Adds a key
+     * @param key
+     * @return true if key was not already in the set
+     */
+    public boolean add(long key) {
+        if (find(key) >= 0) {
+            return false;
+        }
+        insert(key);
+        return true;
+    }
+
+    /**
+     * Removes a key
+     * @param key
+     * @return true if key was in the set
+     */
+    public boolean remove(long key) {
+        int hole = find(key);
+        if (hole < 0) {
+            return false;
+        }
+        used[hole] = false;
+        size--;
+        for (int slot = (hole + 1) & mask; used[slot]; slot = (slot + 1) & mask) {
+            int home = slotOf(keys[slot]);
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                used[hole] = true;
+                used[slot] = false;
+                hole = slot;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all keys
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private int find(long key) {
+        for (int slot = slotOf(key); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long key) {
+        if ((size + 1) * 4 > keys.length * 3) {
+            long[] oldKeys = keys;
+            boolean[] oldUsed = used;
+            allocate(oldKeys.length * 2);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    insert(oldKeys[i]);
+                }
+            }
+        }
+        int slot = slotOf(key);
+        while (used[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        used[slot] = true;
+        size++;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slotOf(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+}
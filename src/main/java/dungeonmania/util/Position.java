@@ -3,7 +3,6 @@ package dungeonmania.util;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 public final class Position implements Serializable {
     private final int x, y, layer;
@@ -20,9 +19,10 @@ public final class Position implements Serializable {
         this.layer = 0;
     }
 
+    // z isn't hashed, matching equals
     @Override
     public final int hashCode() {
-        return Objects.hash(x, y, layer);
+        return 31 * x + y;
     }
 
     @Override
@@ -51,6 +51,36 @@ public final class Position implements Serializable {
         return layer;
     }
 
+    /**
+     * Packs this position into a primitive key (Note: doesn't include z)
+     * @return x in the high 32 bits, y in the low 32 bits
+     */
+    public final long pack() {
+        return pack(x, y);
+    }
+
+    /**
+     * Packs a coordinate into a primitive key, for LongMap and LongSet
+     * @param x
+     * @param y
+     * @return x in the high 32 bits, y in the low 32 bits
+     */
+    public static final long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static final int unpackX(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static final int unpackY(long key) {
+        return (int) key;
+    }
+
+    public static final Position unpack(long key) {
+        return new Position(unpackX(key), unpackY(key));
+    }
+
     public final Position asLayer(int layer) {
         return new Position(x, y, layer);
     }
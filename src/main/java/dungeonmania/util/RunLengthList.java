@@ -0,0 +1,56 @@
+package dungeonmania.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list stored as runs of one repeated element.
+ *      - A run of any length costs one element and one count, the repeats are only produced when read.
+ *      - Reading by index finds the run with a binary search over the run ends.
+ * @param <T> the element type
+ */
+public class RunLengthList<T> extends AbstractList<T> implements RandomAccess {
+    private final Object[] values;
+    // ends[i] is the index just past run i
+    private final int[] ends;
+
+    /**
+     * RunLengthList Constructor
+     * @param values - the element of each run
+     * @param counts - the length of each run, each at least 1
+     * @throws IllegalArgumentException if the lists differ in size, a count is below 1, or the total overflows
+     */
+    public RunLengthList(List<T> values, List<Integer> counts) throws IllegalArgumentException {
+        if (values.size() != counts.size()) {
+            throw new IllegalArgumentException("Every run needs a count");
+        }
+        this.values = values.toArray();
+        this.ends = new int[counts.size()];
+        int end = 0;
+        for (int i = 0; i < ends.length; i++) {
+            int count = counts.get(i);
+            if (count < 1 || end + count < end) {
+                throw new IllegalArgumentException("Run lengths must be positive and fit in an int");
+            }
+            end += count;
+            ends[i] = end;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int run = Arrays.binarySearch(ends, index + 1);
+        return (T) values[run >= 0 ? run : -run - 1];
+    }
+
+    @Override
+    public int size() {
+        return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+}
@@ -1,14 +1,32 @@
 package dungeonmania;
 
+import dungeonmania.dynamic_entity.DynamicEntity;
+import dungeonmania.dynamic_entity.Mercenary;
+import dungeonmania.dynamic_entity.Player;
+import dungeonmania.dynamic_entity.movement.DistanceField;
+import dungeonmania.dynamic_entity.movement.IncrementalChaseMovement;
 import dungeonmania.response.models.DungeonResponse;
 import dungeonmania.util.Direction;
 import dungeonmania.util.Position;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
 import static dungeonmania.TestUtils.getEntitiesStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class AdvancedMovementTests {
     @Test
@@ -67,4 +85,248 @@ public class AdvancedMovementTests {
         pos = getEntitiesStream(resp, "mercenary").findFirst().get().getPosition();
         assertTrue(pos.equals(new Position(1, 3)));
     }
+
+    @Test
+    @DisplayName("Test the shared distance field picks the same step as a single search from every tile")
+    public void testDistanceFieldMatchesShortestPath() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_dijkstrasMaze_simple", "c_standard_movement");
+        TileMap tileMap = dmc.getTileMap();
+        Position player = new Position(3, 5);
+        DistanceField field = dmc.getPlayerDistanceField(TileMap.BLOCKS_WALKER);
+        for (int x = tileMap.getLeft(); x <= tileMap.getRight(); x++) {
+            for (int y = tileMap.getTop(); y <= tileMap.getBottom(); y++) {
+                if ((tileMap.getFlags(x, y) & TileMap.BLOCKS_WALKER) != 0) {
+                    continue;
+                }
+                Position source = new Position(x, y);
+                assertEquals(firstStep(tileMap, source, player, TileMap.BLOCKS_WALKER), field.getNextPosition(source));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test the incremental planner keeps taking shortest steps as the player and a boulder move")
+    public void testIncrementalPlannerTakesShortestSteps() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse resp = dmc.newGame("d_incrementalChase", "c_incrementalPathfinding");
+        TileMap tileMap = dmc.getTileMap();
+        Direction[] moves = {Direction.RIGHT, Direction.LEFT, Direction.UP, Direction.UP,
+                Direction.DOWN, Direction.DOWN, Direction.DOWN, Direction.RIGHT};
+        for (Direction move : moves) {
+            Position prev = getEntitiesStream(resp, "mercenary").findFirst().get().getPosition();
+            resp = dmc.tick(move);
+            Position pos = getEntitiesStream(resp, "mercenary").findFirst().get().getPosition();
+            DistanceField field = dmc.getPlayerDistanceField(TileMap.BLOCKS_WALKER);
+            assertEquals(field.getDistance(prev.getX(), prev.getY()),
+                    1 + tileMap.getMoveCost(pos.getX(), pos.getY()) + field.getDistance(pos.getX(), pos.getY()));
+        }
+        assertEquals(TileMap.BOULDER, tileMap.getFlags(3, 3));
+    }
+
+    @Test
+    @DisplayName("Games created with the same seed move their enemies the same way")
+    public void testSeededMovement() {
+        DungeonManiaController first = new DungeonManiaController();
+        DungeonManiaController second = new DungeonManiaController();
+        first.newGame("d_movementAllocation", "c_M3_config", 42);
+        second.newGame("d_movementAllocation", "c_M3_config", 42);
+        for (int i = 0; i < 20; i++) {
+            Direction d = i % 2 == 0 ? Direction.LEFT : Direction.RIGHT;
+            assertEquals(positions(first.tick(d)), positions(second.tick(d)));
+        }
+    }
+
+    @Test
+    @DisplayName("The incremental planner repairs cheaply while the player stays put, and starts over when it moves")
+    public void testIncrementalPlannerExpansions() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_chaseExpansions", "c_incrementalPathfinding");
+        Entity mercenary = dmc.getRegistry().getAll(Mercenary.class).get(0);
+        IncrementalChaseMovement kept = new IncrementalChaseMovement();
+        kept.getNextPosition(mercenary, dmc);
+
+        // the player walks into the wall on its left and stays put, so only the mercenary moves
+        Direction[] moves = {Direction.LEFT, Direction.UP, Direction.DOWN, Direction.LEFT, Direction.UP, Direction.DOWN};
+        int stayed = 0;
+        for (Direction move : moves) {
+            Position player = dmc.getRegistry().getPlayer().getPosition();
+            dmc.tick(move);
+            boolean playerMoved = !player.equals(dmc.getRegistry().getPlayer().getPosition());
+
+            long before = kept.getExpansions();
+            Position next = kept.getNextPosition(mercenary, dmc);
+            long repaired = kept.getExpansions() - before;
+            IncrementalChaseMovement fresh = new IncrementalChaseMovement();
+            assertEquals(next, fresh.getNextPosition(mercenary, dmc));
+            if (playerMoved) {
+                assertEquals(fresh.getExpansions(), repaired);
+            } else {
+                stayed++;
+                assertTrue(repaired * 4 < fresh.getExpansions(), repaired + " of " + fresh.getExpansions());
+            }
+        }
+        assertEquals(2, stayed);
+    }
+
+    @Test
+    @DisplayName("Enemies planning their moves in parallel end up where they would planning one at a time")
+    public void testParallelMovementMatchesSequential() {
+        DungeonManiaController sequential = new DungeonManiaController();
+        DungeonManiaController parallel = new DungeonManiaController();
+        DungeonResponse first = sequential.newGame("d_movementStress", "c_movementStress", 25);
+        DungeonResponse second = parallel.newGame("d_movementStress", "c_movementStressParallel", 25);
+        List<String> start = entities(first);
+        assertEquals(start, entities(second));
+
+        Direction[] moves = {Direction.LEFT, Direction.UP, Direction.RIGHT, Direction.DOWN, Direction.DOWN};
+        for (int i = 0; i < 40; i++) {
+            first = sequential.tick(moves[i % moves.length]);
+            second = parallel.tick(moves[i % moves.length]);
+            assertEquals(entities(first), entities(second), "tick " + i);
+            assertEquals(sequential.getObserver().getBattleCount(), parallel.getObserver().getBattleCount());
+        }
+        assertTrue(sequential.getObserver().getBattleCount() > 0);
+        assertFalse(start.equals(entities(first)));
+    }
+
+    @Test
+    @DisplayName("Enemies plan in parallel while the caller holds the controller's lock, as the web server does")
+    public void testParallelMovementUnderLock() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        // ticked from a pool with several workers, so planning is spread over threads even on one processor
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Future<?> ticks = pool.submit(() -> {
+                synchronized (dmc) {
+                    dmc.newGame("d_movementStress", "c_movementStressParallel", 7);
+                    for (int i = 0; i < 10; i++) {
+                        dmc.tick(i % 2 == 0 ? Direction.LEFT : Direction.RIGHT);
+                    }
+                }
+            });
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> ticks.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Enemies planning their moves first end up where they would moving one at a time, past swamps and portals")
+    public void testPlannedMovementMatchesOneAtATime() {
+        DungeonManiaController oneAtATime = new DungeonManiaController();
+        DungeonManiaController planned = new DungeonManiaController();
+        DungeonManiaController parallel = new DungeonManiaController();
+        DungeonResponse first = oneAtATime.newGame("d_movementStress", "c_movementStressSequential", 7);
+        DungeonResponse second = planned.newGame("d_movementStress", "c_movementStress", 7);
+        DungeonResponse third = parallel.newGame("d_movementStress", "c_movementStressParallel", 7);
+        assertTrue(entities(first).stream().anyMatch(e -> e.contains(" portal_")));
+        assertTrue(entities(first).stream().anyMatch(e -> e.contains(" swamp_tile ")));
+
+        Direction[] moves = {Direction.RIGHT, Direction.RIGHT, Direction.UP, Direction.LEFT, Direction.DOWN};
+        for (int i = 0; i < 40; i++) {
+            first = oneAtATime.tick(moves[i % moves.length]);
+            second = planned.tick(moves[i % moves.length]);
+            third = parallel.tick(moves[i % moves.length]);
+            assertEquals(entities(first), entities(second), "tick " + i);
+            assertEquals(entities(first), entities(third), "tick " + i);
+            assertEquals(oneAtATime.getObserver().getBattleCount(), planned.getObserver().getBattleCount());
+        }
+        assertTrue(oneAtATime.getObserver().getBattleCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Moving enemies and the player does not allocate once warmed up")
+    public void testMovementDoesNotAllocate() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_movementAllocation", "c_M3_config", 7);
+        Player player = dmc.getRegistry().getPlayer();
+        List<DynamicEntity> enemies = dmc.getRegistry().getAll(DynamicEntity.class).stream()
+                .filter(e -> !(e instanceof Player))
+                .collect(Collectors.toList());
+        DynamicEntity[] movers = enemies.toArray(new DynamicEntity[0]);
+        int moves = 5000;
+
+        // warm up so lazily built state (tile positions, search buffers) and the JIT settle
+        moveAll(dmc, player, movers, moves);
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        moveAll(dmc, player, movers, moves);
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        // the bound leaves room for the measurement itself, but not for even one object per move
+        assertTrue(allocated < moves, "allocated " + allocated + " bytes over " + moves * (movers.length + 1) + " moves");
+    }
+
+    private static void moveAll(DungeonManiaController dmc, Player player, DynamicEntity[] movers, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            player.updatePos(i % 2 == 0 ? Direction.LEFT : Direction.RIGHT, dmc);
+            for (DynamicEntity mover : movers) {
+                mover.updatePos(null, dmc);
+            }
+        }
+    }
+
+    /**
+     * A single Dijkstra search from source, the way chasers searched before the distance field: entering a tile
+     * costs 1 plus its move cost, and ties go first in first out, with neighbours in the order left, right, up, down
+     */
+    private static Position firstStep(TileMap tileMap, Position source, Position dest, int blocking) {
+        if (source.equals(dest) || Position.isAdjacent(source, dest)) {
+            return dest;
+        }
+        int[] dx = {-1, 1, 0, 0};
+        int[] dy = {0, 0, -1, 1};
+        Map<Position, Integer> dist = new HashMap<>();
+        Map<Position, Position> prev = new HashMap<>();
+        // entries are {distance, push sequence, x, y}
+        PriorityQueue<int[]> queue = new PriorityQueue<>((a, b) -> a[0] != b[0] ? a[0] - b[0] : a[1] - b[1]);
+        int sequence = 0;
+        dist.put(source, 0);
+        queue.add(new int[] {0, sequence++, source.getX(), source.getY()});
+        while (!queue.isEmpty()) {
+            int[] entry = queue.poll();
+            Position u = new Position(entry[2], entry[3]);
+            if (entry[0] > dist.get(u)) {
+                continue;
+            }
+            if (u.equals(dest)) {
+                Position curr = dest;
+                while (!prev.get(curr).equals(source)) {
+                    curr = prev.get(curr);
+                }
+                return curr;
+            }
+            for (int k = 0; k < 4; k++) {
+                int x = entry[2] + dx[k];
+                int y = entry[3] + dy[k];
+                if (!tileMap.inBounds(x, y) || (tileMap.getFlags(x, y) & blocking) != 0) {
+                    continue;
+                }
+                Position v = new Position(x, y);
+                int dv = entry[0] + 1 + tileMap.getMoveCost(x, y);
+                if (!dist.containsKey(v) || dv < dist.get(v)) {
+                    dist.put(v, dv);
+                    prev.put(v, u);
+                    queue.add(new int[] {dv, sequence++, x, y});
+                }
+            }
+        }
+        return source;
+    }
+
+    private static List<String> entities(DungeonResponse resp) {
+        return resp.getEntities().stream().map(e -> e.getId() + " " + e.getType() + " " + e.getPosition())
+                .collect(Collectors.toList());
+    }
+
+    private static List<Position> positions(DungeonResponse resp) {
+        return resp.getEntities().stream().map(e -> e.getPosition()).collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,69 @@
+package dungeonmania;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static dungeonmania.TestUtils.getEntities;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.response.models.BatchResponse;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.util.Direction;
+
+public class BatchTests {
+    @Test
+    @DisplayName("A batch ends where the same actions taken one by one end")
+    public void testBatchMatchesSingleSteps() throws InvalidActionException {
+        String actions = "move:right,move:down,move:right,move:left,move:up,move:up";
+        DungeonManiaController single = new DungeonManiaController();
+        single.newGame("d_movementAllocation", "c_M3_config", 5);
+        DungeonResponse expected = null;
+        for (Action action : Action.parseAll(actions)) {
+            expected = single.tick(action.getDirection());
+        }
+
+        DungeonManiaController batched = new DungeonManiaController();
+        batched.newGame("d_movementAllocation", "c_M3_config", 5);
+        BatchResponse res = batched.batch(Action.parseAll(actions), 0);
+        assertEquals(6, res.getSteps());
+        assertEquals(null, res.getStoppedBy());
+        assertEquals(1, res.getResponses().size());
+        assertEquals(expected.getEntities(), res.getFinalResponse().getEntities());
+    }
+
+    @Test
+    @DisplayName("Responses are built every N steps and at the end")
+    public void testResponseEvery() throws InvalidActionException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_movementAllocation", "c_M3_config", 5);
+        BatchResponse res = dmc.batch(Action.parseAll("move:right,move:left,move:right,move:left,move:right"), 2);
+        assertEquals(3, res.getResponses().size());
+        assertThrows(IllegalArgumentException.class, () -> dmc.batch(List.of(), -1));
+        assertThrows(IllegalArgumentException.class, () -> Action.parse("jump:up"));
+        assertThrows(IllegalArgumentException.class, () -> Action.parseAll(null));
+        assertThrows(IllegalArgumentException.class, () -> dmc.batch(null, 0));
+    }
+
+    @Test
+    @DisplayName("A batch stops when the player dies or the goal is complete")
+    public void testBatchStopsEarly() throws InvalidActionException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_battleTest_basicZombie", "c_battleTests_basicZombiePlayerDies");
+        BatchResponse res = dmc.batch(List.of(Action.move(Direction.DOWN), Action.move(Direction.DOWN)), 0);
+        assertEquals(1, res.getSteps());
+        assertEquals("player_died", res.getStoppedBy());
+        assertEquals(1, res.getFinalResponse().getBattles().size());
+
+        dmc.newGame("d_walkExit", "c_standard_movement");
+        res = dmc.batch(Action.parseAll("move:right, move:right, move:down"), 1);
+        assertEquals(1, res.getSteps());
+        assertEquals("goal_complete", res.getStoppedBy());
+        assertEquals(1, res.getResponses().size());
+        assertEquals("", res.getFinalResponse().getGoals());
+        assertEquals(1, getEntities(res.getFinalResponse(), "player").size());
+    }
+}
@@ -0,0 +1,78 @@
+package dungeonmania;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.simulation.BattleSimulator;
+import dungeonmania.simulation.BattleSimulator.Equipment;
+import dungeonmania.simulation.SimulationResult;
+
+public class BattleSimulatorTests {
+    @Test
+    @DisplayName("Simulated battles follow the same rules as battles in a dungeon")
+    public void testMatchesDungeonBattle() {
+        // the same battle as BattleTests.testRunLengthRounds: the sword breaks after 2 of 36 rounds
+        BattleSimulator simulator = BattleSimulator.fromConfig("c_battleTests_swordBreaksMidBattle");
+        SimulationResult result = simulator.simulate("spider", new Equipment(1, 0, 0, 0), 1_000_000, 1);
+        assertEquals(1_000_000, result.getTrials());
+        assertEquals(1.0, result.getWinProbability());
+        assertEquals(1_000_000, result.getRoundCount(36));
+        assertEquals(36, result.getMaxRounds());
+        assertEquals(96.4, result.getHealthLeftPercentile(50), 0.11);
+
+        // without the sword it takes 50 rounds
+        assertEquals(50, simulator.simulate("spider", new Equipment(0, 0, 0, 0), 10, 1).getMaxRounds());
+    }
+
+    @Test
+    @DisplayName("Hydra battles depend only on the seed, not on the pool")
+    public void testSeededHydraBattles() {
+        BattleSimulator simulator = BattleSimulator.fromConfig("M3_config");
+        Equipment equipment = new Equipment(1, 1, 1, 0);
+        SimulationResult single = simulator.simulate("hydra", equipment, 100_000, 42, new ForkJoinPool(1));
+        SimulationResult parallel = simulator.simulate("hydra", equipment, 100_000, 42, new ForkJoinPool(4));
+
+        assertEquals(single.getWins(), parallel.getWins());
+        assertEquals(single.getMaxRounds(), parallel.getMaxRounds());
+        for (int rounds = 0; rounds <= single.getMaxRounds(); rounds++) {
+            assertEquals(single.getRoundCount(rounds), parallel.getRoundCount(rounds));
+        }
+        assertEquals(single.getHealthLeftPercentile(10), parallel.getHealthLeftPercentile(10));
+        assertTrue(single.getWinProbability() > 0 && single.getWinProbability() < 1);
+
+        SimulationResult neverHeals = simulator.with("hydra_health_increase_rate", 0).simulate("hydra", equipment, 1000, 42);
+        assertEquals(1000, neverHeals.getRoundCount(neverHeals.getMaxRounds()));
+    }
+
+    @Test
+    @DisplayName("Battles stopped at the round limit are counted together, past the round histogram")
+    public void testLongBattles() {
+        // the player outlasts the round limit, and the Hydra heals every round
+        BattleSimulator simulator = BattleSimulator.fromConfig("M3_config")
+            .with("player_health", 1_000_000_000)
+            .with("hydra_health_increase_rate", 1);
+        SimulationResult result = simulator.simulate("hydra", new Equipment(0, 0, 0, 0), 2, 7);
+
+        assertEquals(2, result.getUnfinished());
+        assertEquals(2, result.getLongBattles());
+        assertEquals(BattleSimulator.MAX_ROUNDS, result.getMaxRounds());
+        assertEquals(BattleSimulator.MAX_ROUNDS, result.getMeanRounds());
+        assertEquals(0, result.getRoundCount(BattleSimulator.MAX_ROUNDS));
+        assertEquals(0, result.getRoundCount(SimulationResult.ROUND_BUCKETS - 1));
+    }
+
+    @Test
+    @DisplayName("Unknown enemies and missing stats are rejected")
+    public void testInvalidSimulations() {
+        BattleSimulator simulator = BattleSimulator.fromConfig("simple");
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate("dragon", new Equipment(0, 0, 0, 0), 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate("hydra", new Equipment(0, 0, 0, 0), 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Equipment(-1, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> BattleSimulator.fromConfig("no_such_config"));
+    }
+}
@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static dungeonmania.TestUtils.getPlayer;
@@ -13,19 +15,28 @@ import static dungeonmania.TestUtils.getGoals;
 import static dungeonmania.TestUtils.countEntityOfType;
 import static dungeonmania.TestUtils.getValueFromConfigFile;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.json.JSONObject;
 
+import dungeonmania.dynamic_entity.player.BattleRecord;
+import dungeonmania.dynamic_entity.player.Loadout;
 import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.response.models.BattleListResponse;
 import dungeonmania.response.models.BattleResponse;
 import dungeonmania.response.models.DungeonResponse;
 import dungeonmania.response.models.EntityResponse;
 import dungeonmania.response.models.ItemResponse;
 import dungeonmania.response.models.RoundResponse;
 import dungeonmania.util.Direction;
+import dungeonmania.util.Position;
 
 
 public class BattleTests {
@@ -405,4 +416,187 @@ public class BattleTests {
 
     }
 
+    @Test
+    @DisplayName("Battles are converted once, and responses from before a battle do not change")
+    public void testBattleHistoryCached() {
+        DungeonManiaController controller = new DungeonManiaController();
+        DungeonResponse before = controller.newGame("d_battleTest_basicZombie", "c_battleTests_basicZombieZombieDies");
+        assertEquals(0, before.getBattles().size());
+        DungeonResponse after = controller.tick(Direction.DOWN);
+        assertEquals(1, after.getBattles().size());
+        DungeonResponse later = controller.tick(Direction.UP);
+
+        assertEquals(0, before.getBattles().size());
+        assertEquals(1, after.getBattles().size());
+        assertSame(after.getBattles().get(0), later.getBattles().get(0));
+        assertThrows(UnsupportedOperationException.class, () -> later.getBattles().add(new BattleResponse()));
+
+        assertEquals(1, controller.listBattleResponses(0).size());
+        assertEquals(0, controller.listBattleResponses(1).size());
+        assertEquals(0, controller.listBattleResponses(5).size());
+        assertThrows(IllegalArgumentException.class, () -> controller.listBattleResponses(-1));
+
+        controller.saveGame("battleHistory");
+        DungeonManiaController loaded = new DungeonManiaController();
+        BattleResponse battle = loaded.loadGame("battleHistory").getBattles().get(0);
+        assertEquals(after.getBattles().get(0).getRounds().size(), battle.getRounds().size());
+        assertEquals(after.getBattles().get(0).getEnemy(), battle.getEnemy());
+    }
+
+    @Test
+    @DisplayName("A battle fought before the history is first read is listed once")
+    public void testBattleHistoryFirstReadAfterBattle() {
+        DungeonManiaController controller = new DungeonManiaController();
+        controller.newGame("d_battleTest_basicZombie", "c_battleTests_basicZombieZombieDies");
+        controller.tick(Direction.DOWN);
+        assertEquals(1, controller.getObserver().getBattleCount());
+        assertEquals(1, controller.listBattleResponses().size());
+    }
+
+    @Test
+    @DisplayName("Rounds between breakages are recorded once and expanded in the response")
+    public void testRunLengthRounds() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_UnbrokenWeaponTest", "c_battleTests_swordBreaksMidBattle");
+        dmc.tick(Direction.UP);
+        dmc.tick(Direction.DOWN);
+        BattleResponse battle = dmc.tick(Direction.RIGHT).getBattles().get(0);
+
+        // the sword lasts 2 rounds, its bonus stays after it breaks: 50 / ((5 + 2) / 5) takes 36 rounds
+        List<RoundResponse> rounds = battle.getRounds();
+        assertEquals(36, rounds.size());
+        assertEquals(1, rounds.get(0).getWeaponryUsed().size());
+        assertEquals(1, rounds.get(1).getWeaponryUsed().size());
+        assertEquals(0, rounds.get(2).getWeaponryUsed().size());
+        for (RoundResponse round : rounds) {
+            assertEquals(-1.4, round.getDeltaEnemyHealth(), 0.0001);
+            assertEquals(-0.1, round.getDeltaCharacterHealth(), 0.0001);
+        }
+
+        BattleRecord record = dmc.getObserver().getBattleRecords().get(0);
+        assertEquals(2, record.getRounds().size());
+        assertEquals(36, record.getRoundCount());
+        assertEquals(0, dmc.getRegistry().getPlayer().getInventory().getNoItemType("sword"));
+    }
+
+    @Test
+    @DisplayName("A loadout keeps its modifiers until an item breaks, and their last values after")
+    public void testLoadout() throws IllegalArgumentException, InvalidActionException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_UnbrokenWeaponTest", "c_UnbrokenWeaponsWithSpiderTests");
+        for (int i = 0; i < 4; i++) {
+            dmc.tick(Direction.LEFT);
+        }
+        for (int i = 0; i < 4; i++) {
+            dmc.tick(Direction.RIGHT);
+        }
+        dmc.build("bow");
+
+        Inventory inventory = dmc.getRegistry().getPlayer().getInventory();
+        Loadout loadout = new Loadout(inventory);
+        assertEquals(2, loadout.getBowModifier());
+        assertEquals(0, loadout.getSwordAttack());
+        assertEquals(0, loadout.getShieldDefence());
+        assertFalse(loadout.hasArmour());
+        assertEquals(1, loadout.getItemRecords().size());
+        assertEquals("bow", loadout.getItemRecords().get(0).getType());
+        assertEquals(10, loadout.roundsUntilBreakage());
+
+        loadout.wear(9);
+        assertEquals(1, loadout.roundsUntilBreakage());
+        assertEquals(1, inventory.getBuildableItems().size());
+
+        loadout.wear(1);
+        assertEquals(0, inventory.getBuildableItems().size());
+        assertEquals(0, loadout.getItemRecords().size());
+        assertEquals(Integer.MAX_VALUE, loadout.roundsUntilBreakage());
+        assertEquals(2, loadout.getBowModifier());
+    }
+
+    @Test
+    @DisplayName("A bounded history keeps the latest battles in full and summarises or writes out the rest")
+    public void testBoundedBattleHistory(@TempDir Path dir) throws IOException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_battleTest_mercenaryQueue", "c_battleTests_boundedHistory");
+        for (int i = 0; i < 10 && dmc.getObserver().getBattleCount() < 3; i++) {
+            dmc.tick(Direction.LEFT);
+        }
+        Observer observer = dmc.getObserver();
+        assertEquals(3, observer.getBattleCount());
+        assertEquals(1, observer.getBattleRecords().size());
+        assertEquals(1, observer.getSummaries().size());
+        assertEquals("mercenary", observer.getSummaries().get(0).getEnemyType());
+
+        // the first battle is gone, the second is summarised and the third is kept in full
+        List<BattleResponse> battles = dmc.listBattleResponses();
+        assertEquals(2, battles.size());
+        assertEquals(0, battles.get(0).getRounds().size());
+        assertTrue(battles.get(1).getRounds().size() > 0);
+        assertEquals(2, dmc.listBattleResponses(1).size());
+        assertEquals(1, dmc.listBattleResponses(2).size());
+        assertEquals(0, dmc.listBattleResponses(3).size());
+
+        // a client advancing since by what it was sent does not fetch battles again
+        BattleListResponse page = dmc.listBattles(0);
+        assertEquals(1, page.getFirst());
+        assertEquals(3, page.getTotal());
+        assertEquals(2, page.getBattles().size());
+        assertEquals(3, dmc.listBattles(page.getTotal()).getFirst());
+        assertEquals(0, dmc.listBattles(page.getTotal()).getBattles().size());
+
+        Path file = dir.resolve("battles.jsonl");
+        Observer spilling = new Observer(1, 1, file.toString());
+        BattleRecord battle = observer.getBattleRecords().get(0);
+        for (int i = 0; i < 4; i++) {
+            spilling.record(battle);
+        }
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals("mercenary", new JSONObject(lines.get(0)).getString("enemy"));
+        assertEquals(2, spilling.getBattleResponses().size());
+
+        // responses are converted once, and kept as older battles are summarised or let go
+        Observer kept = new Observer(2, 2, null);
+        for (int i = 0; i < 3; i++) {
+            kept.record(battle);
+        }
+        List<BattleResponse> first = kept.getBattleResponses();
+        kept.record(battle);
+        List<BattleResponse> second = kept.getBattleResponses();
+        assertEquals(0, second.get(1).getRounds().size());
+        assertTrue(second.get(2).getRounds().size() > 0);
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(2), second.get(2));
+        assertEquals(3, first.size());
+        assertEquals(4, second.size());
+        assertEquals(0, kept.getFirstKept());
+        kept.record(battle);
+        assertEquals(1, kept.getFirstKept());
+        assertSame(second.get(3), kept.getBattleResponses(3).get(0));
+    }
+
+    @Test
+    @DisplayName("Test enemies swapping tiles with the player fight only with pass-through combat")
+    public void testPassThroughCombat() {
+        for (boolean passThrough : new boolean[] {false, true}) {
+            String config = passThrough ? "c_battleTests_passThrough" : "c_battleTests_boundedHistory";
+
+            // the player steps down onto the spider as it makes its first move up, onto the player's tile
+            DungeonManiaController dmc = new DungeonManiaController();
+            DungeonResponse res = dmc.newGame("d_battleTest_spiderSwap", config);
+            assertEquals(passThrough, dmc.getObserver().getDetector().isPassThrough());
+            res = dmc.tick(Direction.DOWN);
+            assertEquals(1, res.getBattles().size());
+            assertEquals("spider", res.getBattles().get(0).getEnemy());
+            assertEquals(0, countEntityOfType(res, "spider"));
+            assertEquals(new Position(1, 2), getPlayer(res).get().getPosition());
+
+            // the player steps onto the spider as it moves up, away from both tiles
+            dmc = new DungeonManiaController();
+            res = dmc.newGame("d_battleTest_spiderSidestep", config);
+            res = dmc.tick(Direction.LEFT);
+            assertEquals(passThrough ? 0 : 1, res.getBattles().size());
+            assertEquals(passThrough ? 1 : 0, countEntityOfType(res, "spider"));
+        }
+    }
 }
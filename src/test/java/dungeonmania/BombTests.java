@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import dungeonmania.exceptions.InvalidActionException;
 import dungeonmania.response.models.DungeonResponse;
 import dungeonmania.response.models.EntityResponse;
+import dungeonmania.static_entity.ActiveBomb;
+import dungeonmania.static_entity.FloorSwitch;
 import dungeonmania.util.Direction;
 import dungeonmania.util.Position;
 
@@ -128,4 +130,24 @@ public class BombTests {
         assertEquals(1, count_treasure);
         assertEquals(0, count_bomb);
     }
+
+    @Test
+    @DisplayName("A bomb caught in another bomb's blast explodes in turn")
+    public void testChainExplosion() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("d_bombChain", "simple");
+        assertEquals(2, countEntityOfType(res, "bomb"));
+
+        // the boulder activates the switch, setting off the bomb below it
+        res = dmc.tick(Direction.RIGHT);
+        assertEquals(0, countEntityOfType(res, "bomb"));
+        assertEquals(0, countEntityOfType(res, "switch"));
+        assertEquals(0, countEntityOfType(res, "boulder"));
+        // only the second bomb reaches the wall
+        assertEquals(0, countEntityOfType(res, "wall"));
+        assertEquals(1, countEntityOfType(res, "treasure"));
+        assertEquals(new Position(2, 1), getEntities(res, "player").get(0).getPosition());
+        assertEquals(0, dmc.getRegistry().count(ActiveBomb.class));
+        assertEquals(0, dmc.getRegistry().count(FloorSwitch.class));
+    }
 }
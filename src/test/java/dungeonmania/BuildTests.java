@@ -3,11 +3,14 @@ package dungeonmania;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import dungeonmania.collectible.Buildable;
 import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.recipe.RecipeBook;
 import dungeonmania.response.models.DungeonResponse;
 import dungeonmania.response.models.EntityResponse;
 import dungeonmania.response.models.ItemResponse;
 import dungeonmania.util.Direction;
+import dungeonmania.util.FileLoader;
 import dungeonmania.util.Position;
 
 import static dungeonmania.TestUtils.getEntities;
@@ -16,9 +19,16 @@ import static dungeonmania.TestUtils.countEntityOfType;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import org.json.JSONObject;
 
 
 public class BuildTests {
@@ -208,4 +218,55 @@ public class BuildTests {
         assertEquals(1, inven.size());
         assertEquals(inventory.get(0).getType(), inven.get(0).getType());
     }
+
+    @Test
+    @DisplayName("Buildables follow the items as they are picked up and used")
+    public void testBuildablesFollowInventory() throws IllegalArgumentException, InvalidActionException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("build_bow", "simple");
+        for (int i = 0; i < 3; i++) {
+            res = dmc.tick(Direction.RIGHT);
+            assertEquals(List.of(), res.getBuildables());
+        }
+        res = dmc.tick(Direction.RIGHT);
+        assertEquals(List.of("bow"), res.getBuildables());
+        res = dmc.build("bow");
+        assertEquals(List.of(), res.getBuildables());
+        assertEquals(1, res.getInventory().size());
+    }
+
+    @Test
+    @DisplayName("Recipes use their first satisfied alternative")
+    public void testRecipeAlternatives() {
+        RecipeBook book = RecipeBook.getStandard();
+        assertEquals(List.of("bow", "shield", "sceptre", "midnight_armour"), book.getItems());
+
+        Map<String, Integer> held = new HashMap<>(Map.of("sun_stone", 2, "wood", 2, "treasure", 1, "arrow", 2));
+        assertEquals(Map.of("sun_stone", 1, "wood", 1),
+            book.getRecipe("sceptre").findAlternative(t -> held.getOrDefault(t, 0)).getConsumes());
+        assertEquals(Map.of("wood", 2),
+            book.getRecipe("shield").findAlternative(t -> held.getOrDefault(t, 0)).getConsumes());
+
+        held.put("sun_stone", 1);
+        held.remove("wood");
+        assertEquals(Map.of("sun_stone", 1, "treasure", 1, "arrow", 2),
+            book.getRecipe("sceptre").findAlternative(t -> held.getOrDefault(t, 0)).getConsumes());
+        assertNull(book.getRecipe("bow").findAlternative(t -> held.getOrDefault(t, 0)));
+    }
+
+    @Test
+    @DisplayName("Every recipe makes its item, and unknown items cannot be made")
+    public void testRecipeFactories() throws InvalidActionException, IOException {
+        SerializableJSONObject config = new SerializableJSONObject(
+            new JSONObject(FileLoader.loadResourceFile("/configs/c_M3_config.json")));
+        for (String item : RecipeBook.getStandard().getItems()) {
+            assertEquals(item, Buildable.create(item, "1", config).getType());
+        }
+        assertThrows(InvalidActionException.class, () -> Buildable.create("catapult", "1", config));
+
+        Inventory inventory = new Inventory(null, config);
+        assertThrows(InvalidActionException.class, () -> inventory.buildItem("catapult", "1"));
+        assertThrows(InvalidActionException.class, () -> inventory.buildItem("bow", "1"));
+        assertEquals(0, inventory.getBuildableItems().size());
+    }
 }
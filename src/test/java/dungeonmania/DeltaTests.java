@@ -0,0 +1,119 @@
+package dungeonmania;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.response.models.DeltaResponse;
+import dungeonmania.response.models.EntityResponse;
+import dungeonmania.util.Direction;
+
+public class DeltaTests {
+    private static Map<String, EntityResponse> byId(List<EntityResponse> entities) {
+        Map<String, EntityResponse> result = new HashMap<>();
+        entities.forEach(e -> result.put(e.getId(), e));
+        return result;
+    }
+
+    private static void apply(Map<String, EntityResponse> client, DeltaResponse delta) {
+        delta.getRemoved().forEach(client::remove);
+        delta.getAdded().forEach(e -> client.put(e.getId(), e));
+        delta.getChanged().forEach(e -> client.put(e.getId(), e));
+    }
+
+    @Test
+    @DisplayName("Applying each delta keeps a client in step with the dungeon")
+    public void testDeltasMatchSnapshots() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_movementAllocation", "c_M3_config", 11);
+        DeltaResponse sync = dmc.sync();
+        assertTrue(sync.isFull());
+        Map<String, EntityResponse> client = byId(sync.getFull().getEntities());
+        long version = sync.getVersion();
+
+        Random random = new Random(3);
+        Direction[] directions = Direction.values();
+        for (int i = 0; i < 40 && dmc.getRegistry().getPlayer() != null; i++) {
+            dmc.tick(directions[random.nextInt(directions.length)]);
+            // clients may skip versions
+            if (i % 3 == 1) {
+                continue;
+            }
+            DeltaResponse delta = dmc.getDelta(sync.getEpoch(), version);
+            assertFalse(delta.isFull());
+            apply(client, delta);
+            version = delta.getVersion();
+            assertEquals(byId(dmc.getDungeonResponseModel().getEntities()), client);
+        }
+    }
+
+    @Test
+    @DisplayName("Deltas only carry what changed")
+    public void testDeltaContents() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_DoorsKeysTest_useKeyWalkThroughOpenDoor", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        DeltaResponse sync = dmc.sync();
+        String key = byId(sync.getFull().getEntities()).values().stream()
+            .filter(e -> e.getType().equals("key")).findFirst().get().getId();
+
+        dmc.tick(Direction.RIGHT);
+        DeltaResponse delta = dmc.getDelta(sync.getEpoch(), sync.getVersion());
+        assertEquals(List.of(key), delta.getRemoved());
+        assertEquals(0, delta.getAdded().size());
+        assertEquals(List.of("player"),
+            delta.getChanged().stream().map(EntityResponse::getType).collect(Collectors.toList()));
+        assertEquals(1, delta.getInventory().size());
+        assertNull(delta.getGoals());
+
+        DeltaResponse unchanged = dmc.getDelta(delta.getEpoch(), delta.getVersion());
+        assertEquals(0, unchanged.getChanged().size());
+        assertNull(unchanged.getInventory());
+
+        dmc.tick(Direction.RIGHT);
+        delta = dmc.getDelta(delta.getEpoch(), delta.getVersion());
+        assertTrue(delta.getChanged().stream().anyMatch(e -> e.getType().equals("door_open")));
+        assertEquals(0, delta.getInventory().size());
+    }
+
+    @Test
+    @DisplayName("Clients from another epoch or too far behind get a full snapshot")
+    public void testResync() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_walkExit", "c_standard_movement");
+        DeltaResponse sync = dmc.sync();
+        assertTrue(dmc.getDelta("unknown", sync.getVersion()).isFull());
+        assertTrue(dmc.getDelta(sync.getEpoch(), sync.getVersion() - 1).isFull());
+
+        dmc.newGame("d_walkExit", "c_standard_movement");
+        DeltaResponse again = dmc.getDelta(sync.getEpoch(), sync.getVersion());
+        assertTrue(again.isFull());
+        assertNotEquals(sync.getEpoch(), again.getEpoch());
+    }
+
+    @Test
+    @DisplayName("Only the newest marks are kept, even when nothing changes")
+    public void testMarksBounded() {
+        ChangeLog log = new ChangeLog(new EntityRegistry(), 0);
+        int versions = ChangeLog.MAX_MARKS * 3;
+        for (int version = 0; version < versions; version++) {
+            log.advance(version);
+            log.flush();
+            log.mark(0, 0, "");
+        }
+        assertNull(log.getMark(0));
+        assertNull(log.getMark(versions - ChangeLog.MAX_MARKS - 1));
+        assertNotNull(log.getMark(versions - ChangeLog.MAX_MARKS));
+        assertNotNull(log.getMark(versions - 1));
+    }
+}
@@ -0,0 +1,88 @@
+package dungeonmania;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.collectible.Sword;
+import dungeonmania.dynamic_entity.Player;
+import dungeonmania.static_entity.ZombieToastSpawner;
+import dungeonmania.static_entity.Wall;
+import dungeonmania.util.Direction;
+import dungeonmania.util.Position;
+
+public class EntityRegistryTests {
+    @Test
+    @DisplayName("Kind collections follow entities being destroyed")
+    public void testKindsFollowRemoval() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_interactSpawnerValid", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        EntityRegistry registry = dmc.getRegistry();
+        assertEquals(1, registry.getAll(ZombieToastSpawner.class).size());
+
+        dmc.tick(Direction.RIGHT);
+        assertDoesNotThrow(() -> dmc.interact(registry.getAll(ZombieToastSpawner.class).get(0).getId()));
+        assertFalse(registry.has(ZombieToastSpawner.class));
+        assertTrue(registry.getPlayer() instanceof Player);
+        assertSame(registry.getPlayer(), dmc.getEntitiesAt(new Position(2, 1)).get(0));
+    }
+
+    @Test
+    @DisplayName("Removing the player clears the player handle")
+    public void testPlayerHandle() {
+        EntityRegistry registry = new EntityRegistry();
+        registry.add(new Wall("wall", new Position(0, 0)));
+        assertNull(registry.getPlayer());
+
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_interactSpawnerValid", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        Player player = dmc.getRegistry().getPlayer();
+        registry.add(player);
+        assertSame(player, registry.getPlayer());
+        assertTrue(registry.remove(player));
+        assertFalse(registry.remove(player));
+        assertNull(registry.getPlayer());
+        assertEquals(1, registry.getEntities().size());
+    }
+
+    @Test
+    @DisplayName("Entities are found by id whether or not the id string is interned")
+    public void testLookupById() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_interactSpawnerValid", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        EntityRegistry registry = dmc.getRegistry();
+        Entity spawner = registry.getAll(ZombieToastSpawner.class).get(0);
+        assertSame(spawner, registry.getById(new String(spawner.getId())));
+
+        dmc.removeEntity(new String(spawner.getId()));
+        assertNull(registry.getById(spawner.getId()));
+        assertFalse(registry.has(ZombieToastSpawner.class));
+        assertThrows(IllegalArgumentException.class, () -> dmc.interact(spawner.getId()));
+    }
+
+    @Test
+    @DisplayName("Picked up items are found by id")
+    public void testInventoryLookupById() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_interactSpawnerValid", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        Entity sword = dmc.getEntitiesAt(new Position(2, 1)).get(0);
+        Player player = dmc.getRegistry().getPlayer();
+        assertNull(player.getItemById(sword.getId()));
+
+        dmc.tick(Direction.RIGHT);
+        assertSame(sword, player.getItemById(new String(sword.getId())));
+    }
+
+    @Test
+    @DisplayName("Only tracked kinds can be queried")
+    public void testUntrackedKind() {
+        EntityRegistry registry = new EntityRegistry();
+        assertThrows(IllegalArgumentException.class, () -> registry.getAll(Sword.class));
+    }
+}
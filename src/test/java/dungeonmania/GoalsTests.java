@@ -1,8 +1,11 @@
 package dungeonmania;
 
+import org.json.JSONObject;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import dungeonmania.goal.Goal;
+import dungeonmania.goal.SuperGoal;
 import dungeonmania.response.models.DungeonResponse;
 import dungeonmania.util.Direction;
 
@@ -100,4 +103,39 @@ public class GoalsTests {
         assertFalse(resp.getGoals().contains(":exit"));
         assertFalse(resp.getGoals().contains(":boulders"));
     }
+
+    @Test
+    @DisplayName("Switches covered by boulders are counted as boulders move on and off them")
+    public void testCoveredSwitchCounts() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_boulderGoal", "c_standard_movement");
+        TileMap tileMap = dmc.getTileMap();
+        assertEquals(1, tileMap.getSwitchCount());
+        assertEquals(0, tileMap.getCoveredSwitchCount());
+
+        DungeonResponse resp = dmc.tick(Direction.RIGHT);
+        assertEquals(1, tileMap.getCoveredSwitchCount());
+        assertEquals("", resp.getGoals());
+
+        // pushing the boulder off the switch undoes the goal
+        resp = dmc.tick(Direction.RIGHT);
+        assertEquals(0, tileMap.getCoveredSwitchCount());
+        assertTrue(resp.getGoals().contains(":boulders"));
+    }
+
+    @Test
+    @DisplayName("Nested goals describe only what remains")
+    public void testNestedGoalString() {
+        JSONObject condition = new JSONObject("{\"goal\": \"AND\", \"subgoals\": [{\"goal\": \"treasure\"}, "
+            + "{\"goal\": \"OR\", \"subgoals\": [{\"goal\": \"boulders\"}, {\"goal\": \"enemies\"}]}]}");
+        JSONObject config = new JSONObject("{\"treasure_goal\": 1, \"enemy_goal\": 1}");
+        Goal goal = new SuperGoal(condition, config);
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_walkExit", "c_standard_movement");
+        EntityRegistry registry = dmc.getRegistry();
+
+        // no switches, so the boulders goal and with it the OR are complete
+        assertFalse(goal.isComplete(registry));
+        assertEquals(":treasure", goal.getGoal(registry));
+    }
 }
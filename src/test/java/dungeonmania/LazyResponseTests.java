@@ -0,0 +1,118 @@
+package dungeonmania;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static dungeonmania.TestUtils.getPlayer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.response.models.BatchResponse;
+import dungeonmania.response.models.DeltaResponse;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.response.models.LazyResponseAdapterFactory;
+import dungeonmania.util.Direction;
+import dungeonmania.util.Position;
+
+public class LazyResponseTests {
+    @Test
+    @DisplayName("A response keeps the sections read before the dungeon changed, and refuses the others")
+    public void testResponseKeepsItsVersion() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_walkExit", "c_standard_movement");
+        DungeonResponse before = dmc.tick(Direction.UP);
+        long version = dmc.getVersion();
+        assertEquals(version, before.getVersion());
+        assertEquals(new Position(1, 0), getPlayer(before).get().getPosition());
+        assertFalse(before.isStale());
+
+        DungeonResponse after = dmc.tick(Direction.DOWN);
+        assertEquals(version + 1, dmc.getVersion());
+        assertEquals(new Position(1, 0), getPlayer(before).get().getPosition());
+        assertTrue(before.isStale());
+        assertThrows(IllegalStateException.class, () -> before.getGoals());
+        assertEquals(new Position(1, 1), getPlayer(after).get().getPosition());
+    }
+
+    @Test
+    @DisplayName("Rejected actions leave the version and the response as they were")
+    public void testRejectedActionsKeepVersion() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse start = dmc.newGame("d_walkExit", "c_standard_movement");
+        long version = dmc.getVersion();
+        assertThrows(IllegalArgumentException.class, () -> dmc.build("sword"));
+        assertThrows(InvalidActionException.class, () -> dmc.build("bow"));
+        assertThrows(InvalidActionException.class, () -> dmc.tick("no_such_item"));
+        assertThrows(IllegalArgumentException.class, () -> dmc.interact("no_such_entity"));
+
+        assertEquals(version, dmc.getVersion());
+        assertSame(start, dmc.getDungeonResponseModel());
+        assertFalse(start.isStale());
+    }
+
+    @Test
+    @DisplayName("The response is shared until the dungeon changes")
+    public void testResponseMemoised() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse start = dmc.newGame("d_walkExit", "c_standard_movement");
+        assertSame(start, dmc.getDungeonResponseModel());
+        assertTrue(start.getGoals().contains(":exit"));
+
+        DungeonResponse moved = dmc.tick(Direction.RIGHT);
+        assertNotSame(start, moved);
+        assertEquals("", moved.getGoals());
+        assertSame(moved.getEntities(), dmc.getDungeonResponseModel().getEntities());
+    }
+
+    @Test
+    @DisplayName("Gson writes every section of a lazy response")
+    public void testGsonMaterialises() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("d_walkExit", "c_standard_movement");
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(new LazyResponseAdapterFactory()).create();
+        String json = gson.toJson(res);
+        assertTrue(json.contains("\"entities\":[{"));
+        assertTrue(json.contains("\"goals\":\":exit"));
+    }
+
+    @Test
+    @DisplayName("Responses a request returns under the controller's lock can be written after later requests")
+    public void testRespondMaterialises() throws InterruptedException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.respond(c -> c.newGame("d_walkExit", "c_standard_movement"));
+        DungeonResponse tick = dmc.respond(c -> c.tick(Direction.UP));
+        BatchResponse batch = dmc.respond(c -> {
+            try {
+                return c.batch(Action.parseAll("move:down,move:up"), 0);
+            } catch (InvalidActionException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        DeltaResponse full = dmc.respond(c -> c.getDelta("unknown", 0));
+
+        // another request changes the dungeon before the responses are written, as a server would allow
+        Thread other = new Thread(() -> dmc.respond(c -> c.tick(Direction.DOWN)));
+        other.start();
+        other.join();
+
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(new LazyResponseAdapterFactory()).create();
+        assertFalse(tick.isStale());
+        assertFalse(batch.getFinalResponse().isStale());
+        assertFalse(full.getFull().isStale());
+        assertTrue(gson.toJson(tick).contains("\"goals\":\":exit"));
+        assertTrue(gson.toJson(batch).contains("\"goals\":\":exit"));
+        assertTrue(gson.toJson(full).contains("\"goals\":\":exit"));
+        assertEquals(new Position(1, 0), getPlayer(tick).get().getPosition());
+        assertEquals(new Position(1, 0), getPlayer(batch.getFinalResponse()).get().getPosition());
+        assertEquals(new Position(1, 0), getPlayer(full.getFull()).get().getPosition());
+        assertEquals(new Position(1, 1), getPlayer(dmc.getDungeonResponseModel()).get().getPosition());
+    }
+}
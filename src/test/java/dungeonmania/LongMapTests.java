@@ -0,0 +1,63 @@
+package dungeonmania;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.util.LongMap;
+import dungeonmania.util.LongSet;
+import dungeonmania.util.Position;
+
+public class LongMapTests {
+    @Test
+    @DisplayName("Equal positions hash alike and pack to the same key whatever their layer")
+    public void testPositionKeys() {
+        Position a = new Position(-3, 7, 0);
+        Position b = new Position(-3, 7, 2);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(a.pack(), b.pack());
+        assertEquals(a, Position.unpack(a.pack()));
+        assertEquals(Integer.MIN_VALUE, Position.unpackX(Position.pack(Integer.MIN_VALUE, -1)));
+        assertEquals(-1, Position.unpackY(Position.pack(Integer.MIN_VALUE, -1)));
+    }
+
+    @Test
+    @DisplayName("LongMap and LongSet agree with HashMap and HashSet under random updates")
+    public void testMatchesJavaCollections() {
+        Random random = new Random(8);
+        LongMap<Integer> map = new LongMap<>();
+        LongSet set = new LongSet();
+        Map<Long, Integer> expectedMap = new HashMap<>();
+        Set<Long> expectedSet = new HashSet<>();
+
+        for (int i = 0; i < 20000; i++) {
+            long key = Position.pack(random.nextInt(40) - 20, random.nextInt(40) - 20);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expectedMap.remove(key), map.remove(key));
+                assertEquals(expectedSet.remove(key), set.remove(key));
+            } else {
+                assertEquals(expectedMap.put(key, i), map.put(key, i));
+                assertEquals(expectedSet.add(key), set.add(key));
+            }
+            assertEquals(expectedMap.size(), map.size());
+            assertEquals(expectedSet.size(), set.size());
+        }
+        for (int x = -20; x < 20; x++) {
+            for (int y = -20; y < 20; y++) {
+                long key = Position.pack(x, y);
+                assertEquals(expectedMap.get(key), map.get(key));
+                assertEquals(expectedSet.contains(key), set.contains(key));
+            }
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+}
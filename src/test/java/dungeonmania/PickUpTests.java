@@ -89,4 +89,35 @@ public class PickUpTests {
         int inventory_size = inventory.size();
         assertEquals(1, inventory_size);
     }
+
+    @Test
+    @DisplayName("Items are counted and removed by type, and listed in pick up order")
+    public void testInventoryBuckets() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("build_bow", "simple");
+        for (int i = 0; i < 4; i++) {
+            res = dmc.tick(Direction.RIGHT);
+        }
+        List<String> types = new ArrayList<>();
+        res.getInventory().forEach(item -> types.add(item.getType()));
+        assertEquals(List.of("wood", "arrow", "arrow", "arrow"), types);
+
+        Inventory inventory = dmc.getRegistry().getPlayer().getInventory();
+        assertEquals(1, inventory.getNoItemType("wood"));
+        assertEquals(3, inventory.getNoItemType("arrow"));
+        assertEquals(0, inventory.getNoItemType("key"));
+        assertEquals(res.getInventory().get(1).getId(), inventory.getItem("arrow").getId());
+
+        inventory.removeNoItemType("arrow", 2);
+        assertEquals(1, inventory.getNoItemType("arrow"));
+        assertEquals(res.getInventory().get(3).getId(), inventory.getItem("arrow").getId());
+        List<ItemResponse> items = inventory.getItemResponses();
+        assertEquals("wood", items.get(0).getType());
+        assertEquals(res.getInventory().get(3).getId(), items.get(1).getId());
+
+        inventory.removeNoItemType("arrow", 5);
+        assertEquals(0, inventory.getNoItemType("arrow"));
+        assertEquals(null, inventory.getItem("arrow"));
+        assertEquals(1, inventory.getItemResponses().size());
+    }
 }
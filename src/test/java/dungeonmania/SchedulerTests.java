@@ -0,0 +1,73 @@
+package dungeonmania;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static dungeonmania.TestUtils.getEntities;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.static_entity.SwampTile;
+import dungeonmania.static_entity.ZombieToastSpawner;
+import dungeonmania.util.Direction;
+import dungeonmania.util.Position;
+
+public class SchedulerTests {
+    @Test
+    @DisplayName("Spawners are only awake in the ticks they spawn")
+    public void testSpawnerTimer() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_zombieToastSpawnerSimple", "c_zombieToastSpawner");
+        Scheduler scheduler = dmc.getRegistry().getScheduler();
+        ZombieToastSpawner spawner = dmc.getRegistry().getAll(ZombieToastSpawner.class).get(0);
+        assertFalse(scheduler.isAwake(spawner));
+
+        dmc.tick(Direction.RIGHT);
+        assertEquals(1, scheduler.getNow());
+        assertEquals(0, getEntities(dmc.getDungeonResponseModel(), "zombie_toast").size());
+
+        DungeonResponse res = dmc.tick(Direction.RIGHT);
+        assertEquals(1, getEntities(res, "zombie_toast").size());
+        assertFalse(scheduler.isAwake(spawner));
+
+        dmc.tick(Direction.LEFT);
+        res = dmc.tick(Direction.LEFT);
+        assertEquals(2, getEntities(res, "zombie_toast").size());
+    }
+
+    @Test
+    @DisplayName("Swamp tiles sleep until an enemy is stuck in them")
+    public void testSwampSleeps() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_swampTileMerc", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        Scheduler scheduler = dmc.getRegistry().getScheduler();
+        SwampTile swamp = dmc.getRegistry().getAll(SwampTile.class).get(0);
+        assertFalse(scheduler.isAwake(swamp));
+
+        dmc.tick(Direction.LEFT);
+        assertTrue(scheduler.isAwake(swamp));
+        dmc.tick(Direction.LEFT);
+        dmc.tick(Direction.LEFT);
+        DungeonResponse res = dmc.tick(Direction.LEFT);
+        assertEquals(new Position(3, 1), getEntities(res, "mercenary").get(0).getPosition());
+        assertFalse(scheduler.isAwake(swamp));
+    }
+
+    @Test
+    @DisplayName("Timers must be in the future and only registered entities wake")
+    public void testInvalidWakes() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_swampTileMerc", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        Scheduler scheduler = dmc.getRegistry().getScheduler();
+        SwampTile swamp = dmc.getRegistry().getAll(SwampTile.class).get(0);
+        assertThrows(IllegalArgumentException.class, () -> scheduler.wakeIn(swamp, 0));
+
+        SwampTile outside = new SwampTile("outside", new Position(0, 0));
+        scheduler.wake(outside);
+        assertFalse(scheduler.isAwake(outside));
+        assertFalse(scheduler.hasAwake(SwampTile.class));
+    }
+}
@@ -0,0 +1,56 @@
+package dungeonmania;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.dynamic_entity.Player;
+import dungeonmania.util.Direction;
+import dungeonmania.util.Position;
+
+public class SpatialIndexTests {
+    @Test
+    @DisplayName("Tile lookups follow the player as it moves")
+    public void testIndexFollowsMovement() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_keyPickUpTest", "bomb_radius_2");
+        assertTrue(dmc.getEntitiesAt(new Position(1, 1)).get(0) instanceof Player);
+
+        dmc.tick(Direction.DOWN);
+        assertTrue(dmc.getEntitiesAt(new Position(1, 1)).isEmpty());
+        List<Entity> occupants = dmc.getEntitiesAt(new Position(1, 2));
+        assertEquals(1, occupants.size());
+        assertTrue(occupants.get(0) instanceof Player);
+    }
+
+    @Test
+    @DisplayName("Picked up items are removed from their tile")
+    public void testIndexPickUp() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_keyPickUpTest", "bomb_radius_2");
+        assertEquals("key", dmc.getEntitiesAt(new Position(2, 1)).get(0).getType());
+
+        dmc.tick(Direction.RIGHT);
+        List<Entity> occupants = dmc.getEntitiesAt(new Position(2, 1));
+        assertEquals(1, occupants.size());
+        assertTrue(occupants.get(0) instanceof Player);
+    }
+
+    @Test
+    @DisplayName("Tile lookups survive saving and loading")
+    public void testIndexPersistence() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_keyPickUpTest", "bomb_radius_2");
+        dmc.tick(Direction.RIGHT);
+        dmc.saveGame("spatialIndex");
+
+        dmc = new DungeonManiaController();
+        dmc.loadGame("spatialIndex");
+        dmc.tick(Direction.RIGHT);
+        assertTrue(dmc.getEntitiesAt(new Position(2, 1)).isEmpty());
+        assertTrue(dmc.getEntitiesAt(new Position(3, 1)).get(0) instanceof Player);
+    }
+}
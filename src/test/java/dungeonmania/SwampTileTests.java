@@ -72,6 +72,16 @@ public class SwampTileTests {
         assertEquals(new Position(3, 1), getEntities(res, "mercenary").get(0).getPosition());
     }
 
+    @Test 
+    @DisplayName("Test mercenary walks around a slow swamp tile when that is shorter")
+    public void testSwampTileDetour() {
+        DungeonManiaController dmc;
+        dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("d_swampTileDetour", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        res = dmc.tick(Direction.UP);
+        assertEquals(new Position(4, 1), getEntities(res, "mercenary").get(0).getPosition());
+    }
+
     @Test 
     @DisplayName("Test player not effected")
     public void testSwampTilePlayer() {
@@ -0,0 +1,89 @@
+package dungeonmania;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.tick.TickListener;
+import dungeonmania.tick.TickSystem;
+import dungeonmania.util.Direction;
+
+public class TickPipelineTests {
+    /**
+     * Records the systems of each tick, in order
+     */
+    private static class Recorder implements TickListener {
+        private final List<String> ran = new ArrayList<>();
+        private final List<String> skipped = new ArrayList<>();
+
+        @Override
+        public void systemRan(String system, long nanos) {
+            assertTrue(nanos >= 0);
+            ran.add(system);
+        }
+
+        @Override
+        public void systemSkipped(String system) {
+            skipped.add(system);
+        }
+    }
+
+    @Test
+    @DisplayName("Systems with nothing to do are skipped")
+    public void testEmptySystemsSkipped() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_battleTest_basicZombie", "c_battleTests_basicZombieZombieDies");
+        Recorder recorder = new Recorder();
+        dmc.addTickListener(recorder);
+
+        dmc.tick(Direction.UP);
+        assertEquals(List.of("move_player", "potions", "battle", "move_enemies", "battle", "pick_up",
+            "clock", "spider_spawner"), recorder.ran);
+        assertEquals(List.of("sceptre", "swamps", "zombie_spawners", "bombs"), recorder.skipped);
+    }
+
+    @Test
+    @DisplayName("The player dying stops the tick")
+    public void testDeathHaltsTick() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_battleTest_basicZombie", "c_battleTests_basicZombiePlayerDies");
+        Recorder recorder = new Recorder();
+        dmc.addTickListener(recorder);
+
+        dmc.tick(Direction.DOWN);
+        assertEquals("battle", recorder.ran.get(recorder.ran.size() - 1));
+        assertFalse(recorder.ran.contains("pick_up"));
+        assertEquals(null, dmc.getRegistry().getPlayer());
+
+        dmc.removeTickListener(recorder);
+        recorder.ran.clear();
+        dmc.tick(Direction.DOWN);
+        assertTrue(recorder.ran.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Both kinds of tick share their systems")
+    public void testSharedSystems() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_battleTest_basicZombie", "c_battleTests_basicZombieZombieDies");
+        List<TickSystem> move = dmc.getMovePipeline().getSystems();
+        List<TickSystem> item = dmc.getItemPipeline().getSystems();
+        for (TickSystem system : item) {
+            assertTrue(move.contains(system));
+        }
+        TickSystem battle = move.get(3);
+        assertEquals("battle", battle.getName());
+        assertSame(battle, move.get(6));
+
+        TickSystem moveEnemies = move.get(4);
+        TickSystem pickUp = move.get(7);
+        assertTrue(battle.dependsOn(moveEnemies));
+        assertFalse(pickUp.dependsOn(moveEnemies));
+    }
+}
@@ -0,0 +1,53 @@
+package dungeonmania;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.util.Direction;
+
+public class TileMapTests {
+    @Test
+    @DisplayName("Opening a door clears its tile")
+    public void testDoorFlag() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_DoorsKeysTest_useKeyWalkThroughOpenDoor", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        TileMap tileMap = dmc.getTileMap();
+        assertEquals(TileMap.DOOR_CLOSED, tileMap.getFlags(3, 1));
+
+        dmc.tick(Direction.RIGHT);
+        dmc.tick(Direction.RIGHT);
+        assertEquals(0, tileMap.getFlags(3, 1));
+    }
+
+    @Test
+    @DisplayName("Walls block enemies except spiders")
+    public void testWallFlag() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_zombieToastBlocked", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        TileMap tileMap = dmc.getTileMap();
+        assertEquals(TileMap.WALL, tileMap.getFlags(4, 5));
+        assertEquals(TileMap.SPAWNER, tileMap.getFlags(5, 5));
+        assertTrue((tileMap.getFlags(4, 5) & TileMap.BLOCKS_WALKER) != 0);
+        assertTrue((tileMap.getFlags(4, 5) & TileMap.BLOCKS_SPIDER) == 0);
+    }
+
+    @Test
+    @DisplayName("The map grows as entities move outside of it")
+    public void testGrowth() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_spiderTest_basicMovement", "c_spiderTest_basicMovement");
+        TileMap tileMap = dmc.getTileMap();
+        assertFalse(tileMap.inBounds(7, 7));
+        assertEquals(TileMap.WALL, tileMap.getFlags(1, 0));
+
+        // spider circles through (6, 6)
+        for (int i = 0; i < 4; i++) {
+            dmc.tick(Direction.DOWN);
+        }
+        assertTrue(tileMap.inBounds(7, 7));
+        assertEquals(TileMap.WALL, tileMap.getFlags(1, 0));
+    }
+}
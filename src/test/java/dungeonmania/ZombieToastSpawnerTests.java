@@ -78,4 +78,25 @@ public class ZombieToastSpawnerTests {
         });
 
     }
+
+    @Test
+    @DisplayName("A new game on the same controller only ticks its own spawners")
+    public void testSpawnersOfSecondGame() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_zombieToastSpawnerSimple", "c_zombieToastSpawner");
+        dmc.tick(Direction.RIGHT);
+
+        // the first game's spawner must not spawn into a dungeon without spawners
+        DungeonResponse res = dmc.newGame("d_movementTest_testMovementDown", "c_zombieToastSpawner");
+        for (int i = 0; i < 6; i++) {
+            res = dmc.tick(Direction.DOWN);
+        }
+        assertEquals(0, countEntityOfType(res, "zombie_toast"));
+
+        // and the spawner of a third game spawns as in a fresh controller
+        res = dmc.newGame("d_zombieToastSpawnerSimple", "c_zombieToastSpawner");
+        res = dmc.tick(Direction.RIGHT);
+        res = dmc.tick(Direction.RIGHT);
+        assertEquals(new Position(6, 5), getEntities(res, "zombie_toast").get(0).getPosition());
+    }
 }